@@ -1,12 +1,26 @@
 package dev.dwidi.controller;
 
 import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.AstronomyPictureSummaryDTO;
+import dev.dwidi.dto.BackfillJobDTO;
 import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.DateLookupDTO;
+import dev.dwidi.dto.FetchResultDTO;
 import dev.dwidi.dto.PageDTO;
+import dev.dwidi.dto.SearchResultDTO;
+import dev.dwidi.dto.SyncResultDTO;
+import dev.dwidi.dto.TitleSuggestionDTO;
+import dev.dwidi.proxy.MediaFile;
+import dev.dwidi.proxy.MediaPart;
+import dev.dwidi.serialization.BinaryJsonWriter;
 import dev.dwidi.service.NasaApodService;
+import dev.dwidi.utils.ByteRange;
+import dev.dwidi.utils.DateValidator;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -16,23 +30,40 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.PathPart;
+import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 
 @Path("/api/v1/astronomy")
-@Produces(MediaType.APPLICATION_JSON)
+// JSON comes first, so it is what clients get unless they ask for a binary encoding
+@Produces({MediaType.APPLICATION_JSON, BinaryJsonWriter.APPLICATION_CBOR, BinaryJsonWriter.APPLICATION_SMILE})
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Astronomy", description = "NASA Astronomy Picture of the Day operations")
 public class AstronomyController {
 
+    private static final String CSV = "text/csv";
+
+    // Stored past days do not change, so clients and CDNs may keep them for a year
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=" + Duration.ofDays(365).toSeconds() + ", immutable";
+
+    // A mirrored file never changes, but the date may later point to a revised image
+    private static final String MEDIA_CACHE_CONTROL = "public, max-age=" + Duration.ofDays(1).toSeconds();
+
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String CONTENT_RANGE = "Content-Range";
+
     @Inject
     NasaApodService nasaApodService;
 
     @GET
     @Path("/fetch")
-    public Uni<BaseResponseDTO<List<AstronomyPictureResponseDTO>>> fetchAndSaveApodData(
+    public Uni<BaseResponseDTO<FetchResultDTO>> fetchAndSaveApodData(
             @Parameter(description = "Start date in YYYY-MM-DD format")
             @QueryParam("startDate") String startDate,
             @Parameter(description = "End date in YYYY-MM-DD format")
@@ -52,7 +83,58 @@ public class AstronomyController {
         }
     }
 
+    @POST
+    @Path("/backfill")
+    @Operation(
+            summary = "Start an APOD backfill job",
+            description = "Splits an arbitrary date range into windows and fetches them asynchronously"
+    )
+    public Uni<BaseResponseDTO<BackfillJobDTO>> startBackfill(
+            @Parameter(description = "Start date in YYYY-MM-DD format")
+            @QueryParam("startDate") String startDate,
+            @Parameter(description = "End date in YYYY-MM-DD format")
+            @QueryParam("endDate") String endDate
+    ) {
+        try {
+            LocalDate parsedStartDate = LocalDate.parse(startDate);
+            LocalDate parsedEndDate = LocalDate.parse(endDate);
+
+            return nasaApodService.startBackfill(parsedStartDate, parsedEndDate);
+        } catch (DateTimeParseException e) {
+            return Uni.createFrom().item(new BaseResponseDTO<>(
+                    Response.Status.BAD_REQUEST.getStatusCode(),
+                    "Invalid date format. Please use YYYY-MM-DD format",
+                    null
+            ));
+        }
+    }
+
+    @GET
+    @Path("/backfill/{jobId}")
+    @Operation(
+            summary = "Get backfill job progress",
+            description = "Returns status and progress counters of a backfill job"
+    )
+    public Uni<BaseResponseDTO<BackfillJobDTO>> getBackfillJob(
+            @Parameter(description = "Backfill job ID")
+            @PathParam("jobId") String jobId
+    ) {
+        return nasaApodService.getBackfillJob(jobId);
+    }
+
+    @POST
+    @Path("/sync")
+    @Operation(
+            summary = "Sync APOD data up to today",
+            description = "Fetches the days after the stored watermark, the same way the scheduled sync does"
+    )
+    public Uni<BaseResponseDTO<SyncResultDTO>> syncToToday() {
+        return nasaApodService.syncToToday();
+    }
+
     @GET
+    @ConditionalGet
+    @CompressResponse
     @Operation(
             summary = "Get paginated APOD data",
             description = "Retrieves a paginated list of astronomy pictures with sorting options"
@@ -80,8 +162,263 @@ public class AstronomyController {
             @QueryParam("sortBy") String sortBy,
 
             @Parameter(description = "Sort direction (asc or desc)")
-            @QueryParam("sortDirection") String sortDirection
+            @QueryParam("sortDirection") String sortDirection,
+
+            @Parameter(description = "Keyset cursor from a previous page's nextCursor; pass it empty for the first page")
+            @QueryParam("cursor") String cursor,
+
+            @Parameter(description = "Only list dates on or after this one, in YYYY-MM-DD format")
+            @QueryParam("from") String from,
+
+            @Parameter(description = "Only list dates on or before this one, in YYYY-MM-DD format")
+            @QueryParam("to") String to
     ) {
+        if (from != null || to != null) {
+            try {
+                LocalDate parsedFrom = from == null ? null : LocalDate.parse(from);
+                LocalDate parsedTo = to == null ? null : LocalDate.parse(to);
+
+                return nasaApodService.getApodDataInRange(parsedFrom, parsedTo, page, size, sortBy, sortDirection);
+            } catch (DateTimeParseException e) {
+                return Uni.createFrom().item(new BaseResponseDTO<>(
+                        Response.Status.BAD_REQUEST.getStatusCode(),
+                        "Invalid date format. Please use YYYY-MM-DD format",
+                        null
+                ));
+            }
+        }
+        if (cursor != null) {
+            return nasaApodService.getAllApodDataByCursor(cursor, size, sortBy, sortDirection);
+        }
         return nasaApodService.getAllApodData(page, size, sortBy, sortDirection);
     }
-}
\ No newline at end of file
+
+    @GET
+    @Path("/summary")
+    @ConditionalGet
+    @CompressResponse
+    @Operation(
+            summary = "Get paginated APOD summaries",
+            description = "Same listing as the paginated endpoint, but only date, title, media type, url and copyright"
+    )
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved APOD summaries",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = BaseResponseDTO.class))
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid pagination parameters"
+            )
+    })
+    public Uni<BaseResponseDTO<PageDTO<AstronomyPictureSummaryDTO>>> getApodSummaries(
+            @Parameter(description = "Page number (0-based)")
+            @QueryParam("page") @DefaultValue("0") int page,
+
+            @Parameter(description = "Number of items per page")
+            @QueryParam("size") @DefaultValue("10") int size,
+
+            @Parameter(description = "Field to sort by (e.g., date, title)")
+            @QueryParam("sortBy") String sortBy,
+
+            @Parameter(description = "Sort direction (asc or desc)")
+            @QueryParam("sortDirection") String sortDirection,
+
+            @Parameter(description = "Keyset cursor from a previous page's nextCursor; pass it empty for the first page")
+            @QueryParam("cursor") String cursor
+    ) {
+        if (cursor != null) {
+            return nasaApodService.getApodSummariesByCursor(cursor, size, sortBy, sortDirection);
+        }
+        return nasaApodService.getApodSummaries(page, size, sortBy, sortDirection);
+    }
+
+    @GET
+    @Path("/export")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @Operation(
+            summary = "Export APOD data as NDJSON",
+            description = "Streams every stored day in the range, one JSON object per line, from a server-side cursor"
+    )
+    public Multi<AstronomyPictureResponseDTO> exportApodData(
+            @Parameter(description = "First date to export in YYYY-MM-DD format (default: first APOD)")
+            @QueryParam("from") String from,
+
+            @Parameter(description = "Last date to export in YYYY-MM-DD format (default: today)")
+            @QueryParam("to") String to
+    ) {
+        return nasaApodService.exportApodData(parseDate(from), parseDate(to));
+    }
+
+    @GET
+    @Path("/export")
+    @Produces(CSV)
+    @Operation(
+            summary = "Export APOD data as CSV",
+            description = "Streams every stored day in the range as CSV with a header row, from a server-side cursor"
+    )
+    public Multi<String> exportApodDataAsCsv(
+            @Parameter(description = "First date to export in YYYY-MM-DD format (default: first APOD)")
+            @QueryParam("from") String from,
+
+            @Parameter(description = "Last date to export in YYYY-MM-DD format (default: today)")
+            @QueryParam("to") String to
+    ) {
+        return nasaApodService.exportApodDataAsCsv(parseDate(from), parseDate(to));
+    }
+
+    @GET
+    @Path("/{date: \\d{4}-\\d{2}-\\d{2}}")
+    @ConditionalGet
+    @CompressResponse
+    @Operation(
+            summary = "Get stored APOD data for one date",
+            description = "Reads a single day from storage without calling NASA"
+    )
+    public Uni<RestResponse<BaseResponseDTO<AstronomyPictureResponseDTO>>> getApodByDate(
+            @Parameter(description = "Date in YYYY-MM-DD format")
+            @PathParam("date") String date
+    ) {
+        LocalDate parsedDate;
+        try {
+            parsedDate = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return Uni.createFrom().item(RestResponse.ok(new BaseResponseDTO<>(
+                    Response.Status.BAD_REQUEST.getStatusCode(),
+                    "Invalid date format. Please use YYYY-MM-DD format",
+                    null
+            )));
+        }
+
+        return nasaApodService.getApodByDate(parsedDate)
+                .map(response -> {
+                    var builder = RestResponse.ResponseBuilder.ok(response);
+                    // NASA may still revise its latest entries, so only days before its yesterday are immutable
+                    if (response.getStatusCode() == Response.Status.OK.getStatusCode()
+                            && parsedDate.isBefore(LocalDate.now(DateValidator.NASA_ZONE).minusDays(1))) {
+                        builder.header(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+                    }
+                    return builder.build();
+                });
+    }
+
+    @GET
+    @Path("/{date: \\d{4}-\\d{2}-\\d{2}}/media")
+    @Produces(MediaType.WILDCARD)
+    @Operation(
+            summary = "Get the APOD image for one date",
+            description = "Serves the image from a local mirror, downloading it from NASA on first use; supports Range requests"
+    )
+    public Uni<RestResponse<PathPart>> getApodMedia(
+            @Parameter(description = "Date in YYYY-MM-DD format")
+            @PathParam("date") String date,
+
+            @Parameter(description = "Serve the HD image when there is one")
+            @QueryParam("hd") @DefaultValue("false") boolean hd,
+
+            @HeaderParam("Range") String range
+    ) {
+        return nasaApodService.getApodMedia(parseDate(date), hd, range)
+                .map(part -> {
+                    MediaFile file = part.getFile();
+                    ByteRange byteRange = part.getRange();
+                    if (byteRange == null) {
+                        return RestResponse.ResponseBuilder.<PathPart>create(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                                .header(CONTENT_RANGE, "bytes */" + file.getSize())
+                                .build();
+                    }
+                    // Handed to Vert.x sendFile, which writes the file to the socket without copying it
+                    PathPart body = new PathPart(file.getPath(), byteRange.getOffset(), byteRange.getLength());
+                    boolean partial = byteRange.isPartial(file.getSize());
+                    var builder = RestResponse.ResponseBuilder
+                            .create(partial ? Response.Status.PARTIAL_CONTENT : Response.Status.OK, body)
+                            .type(file.getContentType())
+                            .header(ACCEPT_RANGES, "bytes")
+                            .header(HttpHeaders.CACHE_CONTROL, MEDIA_CACHE_CONTROL);
+                    if (partial) {
+                        builder.header(CONTENT_RANGE, byteRange.contentRange(file.getSize()));
+                    }
+                    return builder.build();
+                });
+    }
+
+    @GET
+    @Path("/batch")
+    @ConditionalGet
+    @CompressResponse
+    @Operation(
+            summary = "Get stored APOD data for many dates",
+            description = "Resolves up to 100 dates in one query and returns them in request order, marking dates that are not stored"
+    )
+    public Uni<BaseResponseDTO<List<DateLookupDTO>>> getApodByDates(
+            @Parameter(description = "Comma-separated dates in YYYY-MM-DD format; the parameter may also be repeated")
+            @QueryParam("dates") List<String> dates
+    ) {
+        try {
+            List<LocalDate> parsedDates = dates.stream()
+                    .flatMap(value -> Arrays.stream(value.split(",")))
+                    .map(String::trim)
+                    .filter(value -> !value.isEmpty())
+                    .map(LocalDate::parse)
+                    .toList();
+
+            return nasaApodService.getApodByDates(parsedDates);
+        } catch (DateTimeParseException e) {
+            return Uni.createFrom().item(new BaseResponseDTO<>(
+                    Response.Status.BAD_REQUEST.getStatusCode(),
+                    "Invalid date format. Please use YYYY-MM-DD format",
+                    null
+            ));
+        }
+    }
+
+    @GET
+    @Path("/search")
+    @ConditionalGet
+    @CompressResponse
+    @Operation(
+            summary = "Search APOD titles and explanations",
+            description = "Full-text search ranked by relevance, with highlighted title and explanation snippets"
+    )
+    public Uni<BaseResponseDTO<PageDTO<SearchResultDTO>>> searchApodData(
+            @Parameter(description = "Search terms; quoted phrases, OR and -exclusions are supported")
+            @QueryParam("q") String query,
+
+            @Parameter(description = "Number of items per page")
+            @QueryParam("size") @DefaultValue("10") int size,
+
+            @Parameter(description = "Cursor from a previous page's nextCursor")
+            @QueryParam("cursor") String cursor
+    ) {
+        return nasaApodService.searchApodData(query, cursor, size);
+    }
+
+    @GET
+    @Path("/suggest")
+    @ConditionalGet
+    @CompressResponse
+    @Operation(
+            summary = "Suggest APOD titles",
+            description = "Titles containing the query, most recent first, served from an in-memory trigram index"
+    )
+    public Uni<BaseResponseDTO<List<TitleSuggestionDTO>>> suggestTitles(
+            @Parameter(description = "Part of a title; case and accents are ignored")
+            @QueryParam("q") String query,
+
+            @Parameter(description = "Maximum number of suggestions (1-50)")
+            @QueryParam("limit") @DefaultValue("10") int limit
+    ) {
+        return nasaApodService.suggestTitles(query, limit);
+    }
+
+    // Streamed and file bodies have no envelope to carry the status in, so a bad date is a plain 400
+    private static LocalDate parseDate(String date) {
+        try {
+            return date == null || date.isBlank() ? null : LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid date format. Please use YYYY-MM-DD format");
+        }
+    }
+}
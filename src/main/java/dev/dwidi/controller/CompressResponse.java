@@ -0,0 +1,18 @@
+package dev.dwidi.controller;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks endpoints whose complete response body may be compressed by {@link CompressionInterceptor}.
+ * Streamed responses must not use it, since their body is never buffered in full.
+ */
+@NameBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CompressResponse {
+}
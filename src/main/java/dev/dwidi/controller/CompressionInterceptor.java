@@ -0,0 +1,177 @@
+package dev.dwidi.controller;
+
+import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.CompressionStatsDTO;
+import dev.dwidi.serialization.ResponseCompressor;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.Providers;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Compresses bodies of {@link CompressResponse} endpoints with brotli or gzip, as negotiated from
+ * Accept-Encoding. Successful bodies are compressed once and then served from memory, without
+ * running the serializer again: a single record until its updated_at moves, other responses for
+ * a short time under the table version they were read at. The resource method still runs.
+ */
+@Singleton
+@Provider
+@CompressResponse
+public class CompressionInterceptor implements ContainerRequestFilter, WriterInterceptor {
+
+    private static final String ENCODING_PROPERTY = CompressionInterceptor.class.getName() + ".encoding";
+    private static final String URI_PROPERTY = CompressionInterceptor.class.getName() + ".uri";
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    @ConfigProperty(name = "apod.compression.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "apod.compression.min-bytes", defaultValue = "1024")
+    int minBytes;
+
+    @ConfigProperty(name = "apod.compression.gzip-level", defaultValue = "6")
+    int gzipLevel;
+
+    @ConfigProperty(name = "apod.compression.brotli-quality", defaultValue = "5")
+    int brotliQuality;
+
+    @ConfigProperty(name = "apod.compression.cache-max-bytes", defaultValue = "8388608")
+    long cacheMaxBytes;
+
+    @ConfigProperty(name = "apod.compression.page-ttl", defaultValue = "1m")
+    Duration pageTtl;
+
+    @Context
+    Providers providers;
+
+    private ResponseCompressor compressor;
+
+    @PostConstruct
+    void init() {
+        compressor = new ResponseCompressor(minBytes, gzipLevel, brotliQuality, cacheMaxBytes);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (!enabled) {
+            return;
+        }
+        ResponseCompressor.Encoding encoding = compressor.negotiate(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding != null) {
+            requestContext.setProperty(ENCODING_PROPERTY, encoding);
+            requestContext.setProperty(URI_PROPERTY, requestContext.getUriInfo().getRequestUri().toString());
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (!enabled) {
+            context.proceed();
+            return;
+        }
+        MultivaluedMap<String, Object> headers = context.getHeaders();
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!(context.getProperty(ENCODING_PROPERTY) instanceof ResponseCompressor.Encoding encoding)) {
+            context.proceed();
+            return;
+        }
+
+        String recordKey = recordKey(context, encoding);
+        String pageKey = recordKey == null ? pageKey(context, encoding) : null;
+        String key = recordKey != null ? recordKey : pageKey;
+        byte[] body = key == null ? null : compressor.cached(key);
+        if (body == null) {
+            byte[] raw = serialize(context);
+            if (raw == null) {
+                context.proceed();
+                return;
+            }
+            body = compressor.compress(raw, encoding);
+            if (body == null) {
+                replaceEntity(context, raw);
+                context.proceed();
+                return;
+            }
+            if (recordKey != null) {
+                compressor.store(recordKey, body);
+            } else if (pageKey != null) {
+                compressor.store(pageKey, body, pageTtl);
+            }
+        }
+        // Headers are sent when proceed() writes, so they must be final before it is called
+        headers.putSingle(CONTENT_ENCODING, encoding.token());
+        replaceEntity(context, body);
+        context.proceed();
+    }
+
+    public CompressionStatsDTO getStats() {
+        return compressor.getStats();
+    }
+
+    // A stored record's body only changes with its updated_at, so it is keyed on that instead of
+    // the table-wide ETag, and writes to other days leave it in place
+    private static String recordKey(WriterInterceptorContext context, ResponseCompressor.Encoding encoding) {
+        if (!(successfulData(context) instanceof AstronomyPictureResponseDTO record) || record.getUpdatedAt() == null) {
+            return null;
+        }
+        return encoding.token() + " " + context.getMediaType() + " " + context.getProperty(URI_PROPERTY)
+                + " " + record.getDate() + " " + record.getUpdatedAt();
+    }
+
+    // Pages, batches and search results depend on many rows, so they are keyed on the ETag they
+    // were read at. Every write moves it, and writes made elsewhere only reach the snapshot on
+    // reload, so these entries also expire after a short time
+    private static String pageKey(WriterInterceptorContext context, ResponseCompressor.Encoding encoding) {
+        Object entityTag = context.getHeaders().getFirst(HttpHeaders.ETAG);
+        if (entityTag == null || successfulData(context) == null) {
+            return null;
+        }
+        return encoding.token() + " " + context.getMediaType() + " " + entityTag + " " + context.getProperty(URI_PROPERTY);
+    }
+
+    // Error bodies are never kept, so a transient failure is not replayed
+    private static Object successfulData(WriterInterceptorContext context) {
+        if (context.getEntity() instanceof BaseResponseDTO<?> response
+                && response.getStatusCode() != null
+                && response.getStatusCode() == Response.Status.OK.getStatusCode()) {
+            return response.getData();
+        }
+        return null;
+    }
+
+    // Runs the writer the response would have used, into memory, or returns null if there is none
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private byte[] serialize(WriterInterceptorContext context) throws IOException {
+        MessageBodyWriter writer = providers.getMessageBodyWriter(
+                context.getType(), context.getGenericType(), context.getAnnotations(), context.getMediaType());
+        if (writer == null) {
+            return null;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writer.writeTo(context.getEntity(), context.getType(), context.getGenericType(), context.getAnnotations(),
+                context.getMediaType(), context.getHeaders(), body);
+        return body.toByteArray();
+    }
+
+    private static void replaceEntity(WriterInterceptorContext context, byte[] body) {
+        context.setEntity(body);
+        context.setType(byte[].class);
+        context.setGenericType(byte[].class);
+    }
+}
@@ -0,0 +1,18 @@
+package dev.dwidi.controller;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks read endpoints whose response depends only on the stored APOD rows, so they can be
+ * validated with {@link ConditionalGetFilter}.
+ */
+@NameBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+}
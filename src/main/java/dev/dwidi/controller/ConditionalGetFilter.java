@@ -0,0 +1,94 @@
+package dev.dwidi.controller;
+
+import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.repository.AstronomyPictureVersion;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+/**
+ * Answers conditional GETs on {@link ConditionalGet} endpoints from the in-memory table version.
+ * A matching If-None-Match, or If-Modified-Since when no ETag is sent, returns 304 before the
+ * resource method runs; successful responses carry the ETag and Last-Modified they were read at,
+ * and Vary on Accept since the same version can be sent in several media types.
+ */
+@Provider
+@ConditionalGet
+public class ConditionalGetFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String VERSION_PROPERTY = ConditionalGetFilter.class.getName() + ".version";
+
+    @Inject
+    AstronomyPictureVersion version;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        AstronomyPictureVersion.Stamp stamp = version.current();
+        if (stamp == null || !HttpMethod.GET.equals(requestContext.getMethod())) {
+            return;
+        }
+        // Taken before the read, so a write racing with it can only make the tag look stale
+        requestContext.setProperty(VERSION_PROPERTY, stamp);
+
+        // If-None-Match takes precedence, since Last-Modified has only second precision
+        Response.ResponseBuilder notModified;
+        if (requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH) != null) {
+            notModified = requestContext.getRequest().evaluatePreconditions(entityTag(stamp));
+        } else if (lastModified(stamp) != null) {
+            notModified = requestContext.getRequest().evaluatePreconditions(lastModified(stamp));
+        } else {
+            return;
+        }
+        if (notModified != null) {
+            requestContext.abortWith(withValidators(notModified, stamp).build());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (!(requestContext.getProperty(VERSION_PROPERTY) instanceof AstronomyPictureVersion.Stamp stamp)
+                || responseContext.getStatus() != Response.Status.OK.getStatusCode()) {
+            return;
+        }
+        // Failures are reported inside the envelope with HTTP 200 and must not be revalidated
+        if (responseContext.getEntity() instanceof BaseResponseDTO<?> body
+                && body.getStatusCode() != Response.Status.OK.getStatusCode()) {
+            return;
+        }
+
+        responseContext.getHeaders().putSingle(HttpHeaders.ETAG, entityTag(stamp));
+        if (lastModified(stamp) != null) {
+            responseContext.getHeaders().putSingle(HttpHeaders.LAST_MODIFIED, lastModified(stamp));
+        }
+        responseContext.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    private static Response.ResponseBuilder withValidators(Response.ResponseBuilder builder, AstronomyPictureVersion.Stamp stamp) {
+        // The body may be JSON, CBOR or Smile, so caches must key stored responses on Accept too
+        builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        builder.tag(entityTag(stamp));
+        if (lastModified(stamp) != null) {
+            builder.lastModified(lastModified(stamp));
+        }
+        return builder;
+    }
+
+    // Weak, because the same data may be encoded differently, e.g. compressed or as CBOR
+    private static EntityTag entityTag(AstronomyPictureVersion.Stamp stamp) {
+        return new EntityTag(stamp.tag(), true);
+    }
+
+    private static Date lastModified(AstronomyPictureVersion.Stamp stamp) {
+        return stamp.getLastModified() == null ? null : Date.from(stamp.getLastModified().truncatedTo(ChronoUnit.SECONDS));
+    }
+}
@@ -0,0 +1,209 @@
+package dev.dwidi.controller;
+
+import dev.dwidi.dto.ApiKeyStatsDTO;
+import dev.dwidi.dto.AutocompleteStatsDTO;
+import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.CompressionStatsDTO;
+import dev.dwidi.dto.JsonFragmentStatsDTO;
+import dev.dwidi.dto.MediaCacheStatsDTO;
+import dev.dwidi.dto.PageCacheStatsDTO;
+import dev.dwidi.dto.RateLimiterStatsDTO;
+import dev.dwidi.dto.SingleFlightStatsDTO;
+import dev.dwidi.dto.SnapshotStatsDTO;
+import dev.dwidi.dto.UpstreamCacheStatsDTO;
+import dev.dwidi.proxy.ApiKeyPool;
+import dev.dwidi.proxy.ApodResponseCache;
+import dev.dwidi.proxy.MediaMirror;
+import dev.dwidi.proxy.NasaApodGateway;
+import dev.dwidi.proxy.NasaRateLimiter;
+import dev.dwidi.repository.AstronomyPicturePageCache;
+import dev.dwidi.repository.AstronomyPictureSnapshot;
+import dev.dwidi.repository.TitleAutocomplete;
+import dev.dwidi.serialization.PreEncodedJsonCustomizer;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+@Path("/api/v1/stats")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Stats", description = "Runtime counters of the APOD service")
+public class StatsController {
+
+    @Inject
+    NasaApodGateway nasaApodGateway;
+
+    @Inject
+    NasaRateLimiter nasaRateLimiter;
+
+    @Inject
+    ApiKeyPool apiKeyPool;
+
+    @Inject
+    ApodResponseCache apodResponseCache;
+
+    @Inject
+    AstronomyPictureSnapshot astronomyPictureSnapshot;
+
+    @Inject
+    TitleAutocomplete titleAutocomplete;
+
+    @Inject
+    AstronomyPicturePageCache astronomyPicturePageCache;
+
+    @Inject
+    PreEncodedJsonCustomizer preEncodedJsonCustomizer;
+
+    @Inject
+    CompressionInterceptor compressionInterceptor;
+
+    @Inject
+    MediaMirror mediaMirror;
+
+    @GET
+    @Path("/single-flight")
+    @Operation(
+            summary = "Get request coalescing counters",
+            description = "Returns how many NASA calls were made and how many concurrent requests shared one"
+    )
+    public Uni<BaseResponseDTO<SingleFlightStatsDTO>> getSingleFlightStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved single-flight stats",
+                nasaApodGateway.getSingleFlightStats()
+        ));
+    }
+
+    @GET
+    @Path("/rate-limiter")
+    @Operation(
+            summary = "Get NASA rate limiter state",
+            description = "Returns the learned request rate, concurrency limit, queue depth and throttle events"
+    )
+    public Uni<BaseResponseDTO<RateLimiterStatsDTO>> getRateLimiterStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved rate limiter stats",
+                nasaRateLimiter.getStats()
+        ));
+    }
+
+    @GET
+    @Path("/api-keys")
+    @Operation(
+            summary = "Get NASA API key pool state",
+            description = "Returns per-key quota, usage and ejection state with the keys masked"
+    )
+    public Uni<BaseResponseDTO<List<ApiKeyStatsDTO>>> getApiKeyStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved API key stats",
+                apiKeyPool.getStats()
+        ));
+    }
+
+    @GET
+    @Path("/upstream-cache")
+    @Operation(
+            summary = "Get upstream response cache stats",
+            description = "Returns per-day hit and miss counts, evictions and the estimated memory footprint"
+    )
+    public Uni<BaseResponseDTO<UpstreamCacheStatsDTO>> getUpstreamCacheStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved upstream cache stats",
+                apodResponseCache.getStats()
+        ));
+    }
+
+    @GET
+    @Path("/snapshot")
+    @Operation(
+            summary = "Get in-memory snapshot stats",
+            description = "Returns the snapshot size, estimated memory footprint, dictionary sizes and lookup latency"
+    )
+    public Uni<BaseResponseDTO<SnapshotStatsDTO>> getSnapshotStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved snapshot stats",
+                astronomyPictureSnapshot.getStats()
+        ));
+    }
+
+    @GET
+    @Path("/autocomplete")
+    @Operation(
+            summary = "Get title autocomplete index stats",
+            description = "Returns the indexed titles, distinct trigrams, estimated memory footprint and lookup latency"
+    )
+    public Uni<BaseResponseDTO<AutocompleteStatsDTO>> getAutocompleteStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved autocomplete stats",
+                titleAutocomplete.getStats()
+        ));
+    }
+
+    @GET
+    @Path("/page-cache")
+    @Operation(
+            summary = "Get listing page cache stats",
+            description = "Returns hits, misses, evictions, write invalidations and the estimated memory footprint"
+    )
+    public Uni<BaseResponseDTO<PageCacheStatsDTO>> getPageCacheStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved page cache stats",
+                astronomyPicturePageCache.getStats()
+        ));
+    }
+
+    @GET
+    @Path("/json-fragments")
+    @Operation(
+            summary = "Get pre-encoded JSON fragment cache stats",
+            description = "Returns how often records were written from cached JSON bytes and the cache's memory footprint"
+    )
+    public Uni<BaseResponseDTO<JsonFragmentStatsDTO>> getJsonFragmentStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved JSON fragment stats",
+                preEncodedJsonCustomizer.getStats()
+        ));
+    }
+
+    @GET
+    @Path("/compression")
+    @Operation(
+            summary = "Get response compression stats",
+            description = "Returns compressed and skipped responses, bytes before and after compression and precompressed body cache hits"
+    )
+    public Uni<BaseResponseDTO<CompressionStatsDTO>> getCompressionStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved compression stats",
+                compressionInterceptor.getStats()
+        ));
+    }
+
+    @GET
+    @Path("/media")
+    @Operation(
+            summary = "Get media mirror stats",
+            description = "Returns hits, misses, downloads, bytes downloaded and served, evictions and disk usage"
+    )
+    public Uni<BaseResponseDTO<MediaCacheStatsDTO>> getMediaStats() {
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved media mirror stats",
+                mediaMirror.getStats()
+        ));
+    }
+}
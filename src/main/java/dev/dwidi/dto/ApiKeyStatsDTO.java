@@ -0,0 +1,21 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApiKeyStatsDTO {
+    private String key;
+    private Integer quotaLimit;
+    private Integer quotaRemaining;
+    private int inFlight;
+    private long requests;
+    private long throttled;
+    private boolean ejected;
+    private Instant ejectedUntil;
+}
@@ -0,0 +1,28 @@
+package dev.dwidi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Gallery view of an APOD entry without the explanation. Also used as the projection of summary
+ * queries, so the constructor parameter names must match the entity fields.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@RegisterForReflection
+public class AstronomyPictureSummaryDTO {
+    // Only needed to build the keyset cursor
+    @JsonIgnore
+    private Long id;
+    private LocalDate date;
+    private String title;
+    private String mediaType;
+    private String url;
+    private String copyright;
+}
@@ -0,0 +1,19 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AutocompleteStatsDTO {
+    private boolean ready;
+    private int titles;
+    private int trigrams;
+    private long estimatedBytes;
+    private int recentTitles;
+    private long merges;
+    private long lookups;
+    private double averageLookupMicros;
+}
@@ -0,0 +1,25 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BackfillJobDTO {
+    private String jobId;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int totalWindows;
+    private int windowsDone;
+    private int failedWindows;
+    private int failedChunks;
+    private long rowsSaved;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
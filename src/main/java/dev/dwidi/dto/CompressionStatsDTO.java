@@ -0,0 +1,23 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompressionStatsDTO {
+    private long compressedResponses;
+    private long belowThreshold;
+    private long bytesIn;
+    private long bytesOut;
+    private double compressionRatio;
+    private long cacheHits;
+    private long cacheMisses;
+    private double cacheHitRatio;
+    private long cacheEntries;
+    private long cacheBytes;
+    private long cacheMaxBytes;
+    private boolean brotliAvailable;
+}
@@ -0,0 +1,16 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DateLookupDTO {
+    private LocalDate date;
+    private boolean found;
+    private AstronomyPictureResponseDTO data;
+}
@@ -0,0 +1,18 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FetchResultDTO {
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int alreadyStored;
+    private List<AstronomyPictureResponseDTO> records;
+}
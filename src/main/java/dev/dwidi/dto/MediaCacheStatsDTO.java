@@ -0,0 +1,22 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaCacheStatsDTO {
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long downloads;
+    private long downloadFailures;
+    private long bytesDownloaded;
+    private long bytesServed;
+    private long evictions;
+    private long files;
+    private long diskBytes;
+    private long maxBytes;
+}
@@ -0,0 +1,19 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageCacheStatsDTO {
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long evictions;
+    private long invalidations;
+    private long entries;
+    private long estimatedBytes;
+    private long maxBytes;
+}
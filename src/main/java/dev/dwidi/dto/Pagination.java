@@ -16,4 +16,5 @@ public class Pagination {
     private boolean isLast;
     private boolean hasNext;
     private boolean hasPrevious;
+    private String nextCursor;
 }
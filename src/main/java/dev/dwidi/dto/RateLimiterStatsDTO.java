@@ -0,0 +1,19 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RateLimiterStatsDTO {
+    private double currentHourlyRate;
+    private int concurrencyLimit;
+    private int inFlight;
+    private int queueDepth;
+    private long throttleEvents;
+    private long pacingDelays;
+    private Integer quotaLimit;
+    private Integer quotaRemaining;
+}
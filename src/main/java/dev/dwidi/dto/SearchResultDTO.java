@@ -0,0 +1,25 @@
+package dev.dwidi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResultDTO {
+    // Only needed to build the keyset cursor
+    @JsonIgnore
+    private Long id;
+    private LocalDate date;
+    private String title;
+    private String mediaType;
+    private String url;
+    private float rank;
+    // Matched terms are wrapped in <mark></mark>
+    private String titleHighlight;
+    private String snippet;
+}
@@ -0,0 +1,14 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SingleFlightStatsDTO {
+    private long upstreamCalls;
+    private long coalescedCalls;
+    private int inFlight;
+}
@@ -0,0 +1,23 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SnapshotStatsDTO {
+    private boolean ready;
+    private int rows;
+    private long estimatedBytes;
+    private int distinctMediaTypes;
+    private int distinctCopyrights;
+    private int distinctServiceVersions;
+    private long lookups;
+    private double averageLookupMicros;
+    private Instant loadedAt;
+    private Instant refreshedAt;
+}
@@ -0,0 +1,18 @@
+package dev.dwidi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncResultDTO {
+    private LocalDate previousWatermark;
+    private LocalDate watermark;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+}
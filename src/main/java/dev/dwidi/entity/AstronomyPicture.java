@@ -9,7 +9,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "astronomy_picture")
+@Table(name = "astronomy_picture", indexes = {
+        @Index(name = "uk_astronomy_picture_date", columnList = "date", unique = true),
+        // Keyset pagination seeks on (sort key, id); date is unique, so it seeks on its own index.
+        // Text keys are sorted under ucs_basic, so those two are created with it (see README)
+        @Index(name = "idx_astronomy_picture_title_id", columnList = "title, id"),
+        @Index(name = "idx_astronomy_picture_media_type_id", columnList = "media_type, id")
+})
 @Getter
 @Setter
 public class AstronomyPicture extends PanacheEntityBase {
@@ -0,0 +1,26 @@
+package dev.dwidi.entity;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sync_watermark")
+@Getter
+@Setter
+public class SyncWatermark extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "watermark", nullable = false)
+    private LocalDate watermark;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,177 @@
+package dev.dwidi.proxy;
+
+import dev.dwidi.dto.ApiKeyStatsDTO;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Spreads NASA calls over every configured API key. Each call takes the available key with
+ * the most remaining quota (then the fewest calls in flight). A key answering 429 is ejected
+ * for a cooldown period and reinstated automatically once it expires.
+ */
+@ApplicationScoped
+public class ApiKeyPool {
+
+    private static final Logger LOGGER = Logger.getLogger(ApiKeyPool.class);
+
+    @ConfigProperty(name = "nasa.api.keys")
+    Optional<List<String>> apiKeys;
+
+    @ConfigProperty(name = "nasa.api.key")
+    Optional<String> apiKey;
+
+    @ConfigProperty(name = "nasa.rate-limit.initial-hourly-limit", defaultValue = "1000")
+    int initialHourlyLimit;
+
+    @ConfigProperty(name = "nasa.api-key.ejection-cooldown", defaultValue = "10m")
+    Duration ejectionCooldown;
+
+    private final Map<String, KeyState> keys = new LinkedHashMap<>();
+
+    @PostConstruct
+    void init() {
+        apiKeys.orElse(List.of()).stream()
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .forEach(key -> keys.putIfAbsent(key, new KeyState(key)));
+        if (keys.isEmpty()) {
+            apiKey.filter(key -> !key.isBlank())
+                    .ifPresent(key -> keys.put(key.trim(), new KeyState(key.trim())));
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No NASA API key configured. Set nasa.api.keys or nasa.api.key");
+        }
+        LOGGER.infof("NASA API key pool initialized with %d keys", keys.size());
+    }
+
+    public <T> Uni<T> withKey(Function<String, Uni<T>> call) {
+        return Uni.createFrom().deferred(() -> {
+            KeyState key = acquire();
+            return call.apply(key.key).onTermination().invoke(() -> release(key));
+        });
+    }
+
+    public <T> Multi<T> withKeyStream(Function<String, Multi<T>> call) {
+        return Multi.createFrom().deferred(() -> {
+            KeyState key = acquire();
+            return call.apply(key.key).onTermination().invoke(() -> release(key));
+        });
+    }
+
+    /**
+     * Records the outcome of a call made with the given key.
+     */
+    public synchronized void onResponse(String key, int status, Integer limit, Integer remaining) {
+        KeyState state = keys.get(key);
+        if (state == null) {
+            return;
+        }
+        if (limit != null) {
+            state.limit = limit;
+        }
+        if (remaining != null) {
+            state.remaining = remaining;
+        }
+        if (status == 429) {
+            state.throttled++;
+            state.ejectedUntil = Instant.now().plus(ejectionCooldown);
+            state.remaining = 0;
+            LOGGER.warnf("NASA API key %s was rate limited, ejected until %s", mask(key), state.ejectedUntil);
+        }
+    }
+
+    /**
+     * Hourly limit summed over all keys, counting keys without a reported limit at the assumed default.
+     */
+    public synchronized int getTotalLimit() {
+        return keys.values().stream()
+                .mapToInt(state -> state.limit != null ? state.limit : initialHourlyLimit)
+                .sum();
+    }
+
+    /**
+     * Remaining quota summed over the keys currently in rotation.
+     */
+    public synchronized int getTotalRemaining() {
+        Instant now = Instant.now();
+        return keys.values().stream()
+                .filter(state -> !state.isEjected(now))
+                .mapToInt(state -> state.remaining != null ? state.remaining : initialHourlyLimit)
+                .sum();
+    }
+
+    public synchronized List<ApiKeyStatsDTO> getStats() {
+        Instant now = Instant.now();
+        return keys.values().stream()
+                .map(state -> new ApiKeyStatsDTO(
+                        mask(state.key),
+                        state.limit,
+                        state.remaining,
+                        state.inFlight,
+                        state.requests,
+                        state.throttled,
+                        state.isEjected(now),
+                        state.isEjected(now) ? state.ejectedUntil : null
+                ))
+                .toList();
+    }
+
+    private synchronized KeyState acquire() {
+        Instant now = Instant.now();
+        KeyState selected = keys.values().stream()
+                .filter(state -> !state.isEjected(now))
+                .min(Comparator.comparingInt((KeyState state) ->
+                                -(state.remaining != null ? state.remaining : initialHourlyLimit))
+                        .thenComparingInt(state -> state.inFlight)
+                        .thenComparingLong(state -> state.requests))
+                // Every key is ejected: use the one that comes back first rather than failing outright
+                .orElseGet(() -> keys.values().stream()
+                        .min(Comparator.comparing(state -> state.ejectedUntil))
+                        .orElseThrow());
+        selected.inFlight++;
+        selected.requests++;
+        if (selected.remaining != null && selected.remaining > 0) {
+            selected.remaining--;
+        }
+        return selected;
+    }
+
+    private synchronized void release(KeyState state) {
+        state.inFlight--;
+    }
+
+    private static String mask(String key) {
+        return key.length() <= 4 ? "****" : "****" + key.substring(key.length() - 4);
+    }
+
+    private static final class KeyState {
+        private final String key;
+        private Integer limit;
+        private Integer remaining;
+        private int inFlight;
+        private long requests;
+        private long throttled;
+        private Instant ejectedUntil;
+
+        private KeyState(String key) {
+            this.key = key;
+        }
+
+        private boolean isEjected(Instant now) {
+            return ejectedUntil != null && now.isBefore(ejectedUntil);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package dev.dwidi.proxy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev.dwidi.dto.UpstreamCacheStatsDTO;
+import dev.dwidi.utils.DateValidator;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Per-day cache of upstream APOD responses. Entries for past dates never change upstream and
+ * never expire; today's entry can still be replaced by NASA and lives for a short TTL only.
+ * The cache is bounded by the estimated heap size of its entries.
+ */
+@ApplicationScoped
+public class ApodResponseCache {
+
+    // Rough per-entry cost of the map node, the response object and its string headers
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    @ConfigProperty(name = "nasa.cache.max-bytes", defaultValue = "67108864")
+    long maxBytes;
+
+    @ConfigProperty(name = "nasa.cache.today-ttl", defaultValue = "10m")
+    Duration todayTtl;
+
+    private Cache<LocalDate, NasaApodResponse> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((LocalDate date, NasaApodResponse response) -> estimateBytes(response))
+                .expireAfter(new Expiry<LocalDate, NasaApodResponse>() {
+                    @Override
+                    public long expireAfterCreate(LocalDate date, NasaApodResponse response, long currentTime) {
+                        return ttlNanos(date);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(LocalDate date, NasaApodResponse response,
+                                                  long currentTime, long currentDuration) {
+                        return ttlNanos(date);
+                    }
+
+                    @Override
+                    public long expireAfterRead(LocalDate date, NasaApodResponse response,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public NasaApodResponse get(LocalDate date) {
+        return cache.getIfPresent(date);
+    }
+
+    public void put(NasaApodResponse response) {
+        if (response.getDate() != null) {
+            cache.put(response.getDate(), response);
+        }
+    }
+
+    public UpstreamCacheStatsDTO getStats() {
+        CacheStats stats = cache.stats();
+        long weightedSize = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new UpstreamCacheStatsDTO(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                cache.estimatedSize(),
+                weightedSize,
+                maxBytes
+        );
+    }
+
+    private long ttlNanos(LocalDate date) {
+        return date.isBefore(LocalDate.now(DateValidator.NASA_ZONE)) ? Long.MAX_VALUE : todayTtl.toNanos();
+    }
+
+    private static int estimateBytes(NasaApodResponse response) {
+        return ENTRY_OVERHEAD_BYTES + 2 * (length(response.getCopyright())
+                + length(response.getExplanation())
+                + length(response.getHdurl())
+                + length(response.getMediaType())
+                + length(response.getServiceVersion())
+                + length(response.getTitle())
+                + length(response.getUrl()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
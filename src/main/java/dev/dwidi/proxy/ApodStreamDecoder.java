@@ -0,0 +1,93 @@
+package dev.dwidi.proxy;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incrementally decodes the JSON array returned by the APOD endpoint. Body chunks are fed to
+ * a non-blocking Jackson parser, and each array element is bound as soon as its closing brace
+ * arrives, so the full response never has to be buffered. Instances are single-use.
+ */
+public class ApodStreamDecoder {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private TokenBuffer element;
+    private int depth;
+    private boolean arrayClosed;
+
+    public ApodStreamDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public List<NasaApodResponse> feed(byte[] chunk) {
+        try {
+            feeder.feedInput(chunk, 0, chunk.length);
+            return drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish() {
+        try {
+            feeder.endOfInput();
+            drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!arrayClosed) {
+            throw new IllegalStateException("APOD response ended before the JSON array was closed");
+        }
+    }
+
+    private List<NasaApodResponse> drain() throws IOException {
+        List<NasaApodResponse> decoded = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+
+            if (element == null) {
+                if (token == JsonToken.START_ARRAY && depth == 1) {
+                    continue;
+                }
+                if (token == JsonToken.END_ARRAY && depth == 0) {
+                    arrayClosed = true;
+                    continue;
+                }
+                if (token != JsonToken.START_OBJECT || depth != 2) {
+                    throw new IllegalStateException("Expected a JSON array of APOD objects but found " + token);
+                }
+                element = new TokenBuffer(parser);
+            }
+
+            element.copyCurrentEvent(parser);
+
+            if (token == JsonToken.END_OBJECT && depth == 1) {
+                decoded.add(objectMapper.readValue(element.asParser(objectMapper), NasaApodResponse.class));
+                element = null;
+            }
+        }
+        return decoded;
+    }
+}
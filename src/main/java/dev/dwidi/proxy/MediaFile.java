@@ -0,0 +1,15 @@
+package dev.dwidi.proxy;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * A NASA media file mirrored to local disk.
+ */
+@Value
+public class MediaFile {
+    Path path;
+    long size;
+    String contentType;
+}
@@ -0,0 +1,307 @@
+package dev.dwidi.proxy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import dev.dwidi.dto.MediaCacheStatsDTO;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.core.http.HttpClient;
+import io.vertx.mutiny.core.http.HttpClientResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Local copies of NASA media files, downloaded on first request and kept in a directory whose
+ * total size is capped. The index of files lives in a size-weighted Caffeine cache, and a file is
+ * deleted when the cache evicts it. Files are named after their URL, so a revised URL is fetched
+ * again. Concurrent requests for a file that is not mirrored yet share one download. Only
+ * allowed hosts are fetched from, redirects included.
+ * Eviction only unlinks a file, so sends that already opened it still complete.
+ */
+@ApplicationScoped
+public class MediaMirror {
+
+    private static final Logger LOGGER = Logger.getLogger(MediaMirror.class);
+
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+    private static final Set<Integer> REDIRECT_STATUSES = Set.of(301, 302, 303, 307, 308);
+    private static final int MAX_REDIRECTS = 5;
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "apod.media.cache-dir", defaultValue = "${java.io.tmpdir}/apod-media")
+    String cacheDir;
+
+    @ConfigProperty(name = "apod.media.max-bytes", defaultValue = "1073741824")
+    long maxBytes;
+
+    @ConfigProperty(name = "apod.media.max-file-bytes", defaultValue = "67108864")
+    long maxFileBytes;
+
+    @ConfigProperty(name = "apod.media.allowed-hosts", defaultValue = "apod.nasa.gov")
+    List<String> allowedHosts;
+
+    @ConfigProperty(name = "apod.media.download-timeout", defaultValue = "60s")
+    Duration downloadTimeout;
+
+    private Path directory;
+    private HttpClient client;
+    private Cache<String, Long> files;
+
+    private final Map<String, Uni<MediaFile>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder downloads = new LongAdder();
+    private final LongAdder downloadFailures = new LongAdder();
+    private final LongAdder bytesDownloaded = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void onStart(@Observes StartupEvent event) {
+        directory = Paths.get(cacheDir).toAbsolutePath();
+        // The scheme of each absolute URI decides whether the request uses TLS
+        client = vertx.createHttpClient(new HttpClientOptions()
+                .setIdleTimeout((int) downloadTimeout.toSeconds()));
+        files = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String name, Long size) -> (int) Math.min(size, Integer.MAX_VALUE))
+                .evictionListener((String name, Long size, RemovalCause cause) -> {
+                    evictions.increment();
+                    delete(name);
+                })
+                .build();
+
+        try {
+            Files.createDirectories(directory);
+            // Files left from a previous run are indexed oldest first, so they are evicted first
+            try (Stream<Path> existing = Files.list(directory)) {
+                existing.filter(Files::isRegularFile)
+                        .sorted(Comparator.comparingLong(MediaMirror::lastModified))
+                        .forEach(file -> {
+                            String name = file.getFileName().toString();
+                            if (name.endsWith(PARTIAL_SUFFIX)) {
+                                delete(name);
+                            } else {
+                                files.put(name, size(file));
+                            }
+                        });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the media mirror directory " + directory, e);
+        }
+        LOGGER.infof("Media mirror in %s holds %d files", directory, files.estimatedSize());
+    }
+
+    /**
+     * The local copy of a media URL, downloading it first if needed. Only URLs on the allowed
+     * hosts are mirrored.
+     */
+    public Uni<MediaFile> get(String url) {
+        return Uni.createFrom().deferred(() -> {
+            URI uri = URI.create(url);
+            if (!isMirrored(uri)) {
+                return Uni.createFrom().failure(new IllegalArgumentException("Media host is not mirrored: " + uri.getHost()));
+            }
+
+            String name = fileName(uri);
+            Long size = files.getIfPresent(name);
+            if (size != null) {
+                hits.increment();
+                return Uni.createFrom().item(mediaFile(name, size));
+            }
+            misses.increment();
+            return inFlight.computeIfAbsent(name, ignored -> startDownload(uri, name));
+        });
+    }
+
+    /**
+     * Counts bytes handed to the client for a mirrored file.
+     */
+    public void served(long bytes) {
+        bytesServed.add(bytes);
+    }
+
+    public MediaCacheStatsDTO getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long weightedSize = files.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new MediaCacheStatsDTO(
+                hitCount,
+                missCount,
+                hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount),
+                downloads.sum(),
+                downloadFailures.sum(),
+                bytesDownloaded.sum(),
+                bytesServed.sum(),
+                evictions.sum(),
+                files.estimatedSize(),
+                weightedSize,
+                maxBytes
+        );
+    }
+
+    // Runs inside computeIfAbsent, so only the first caller for a file gets here. The body is
+    // written to a temporary file and moved into place, so readers never see a partial file.
+    private Uni<MediaFile> startDownload(URI uri, String name) {
+        downloads.increment();
+        String partial = directory.resolve(name + "." + UUID.randomUUID() + PARTIAL_SUFFIX).toString();
+        String target = directory.resolve(name).toString();
+
+        return fetch(uri, 0)
+                .chain(response -> download(response, uri, partial))
+                .chain(() -> vertx.fileSystem().props(partial))
+                .chain(props -> {
+                    // Bodies without a Content-Length are only checked once written
+                    if (props.size() > maxFileBytes) {
+                        return Uni.createFrom().<Long>failure(new IOException("Media file is larger than " + maxFileBytes + " bytes: " + uri));
+                    }
+                    return vertx.fileSystem().move(partial, target, new CopyOptions().setReplaceExisting(true))
+                            .replaceWith(props.size());
+                })
+                .map(size -> {
+                    bytesDownloaded.add(size);
+                    files.put(name, size);
+                    return mediaFile(name, size);
+                })
+                .ifNoItem().after(downloadTimeout).fail()
+                .onFailure().call(() -> {
+                    downloadFailures.increment();
+                    return vertx.fileSystem().delete(partial).onFailure().recoverWithNull();
+                })
+                .onTermination().invoke(() -> inFlight.remove(name))
+                .memoize().indefinitely();
+    }
+
+    // Redirects are followed here instead of by the client, so every hop is checked against the
+    // allowed hosts and a redirect cannot point the mirror at another server
+    private Uni<HttpClientResponse> fetch(URI uri, int redirects) {
+        RequestOptions options = new RequestOptions()
+                .setMethod(HttpMethod.GET)
+                .setAbsoluteURI(uri.toString())
+                .setFollowRedirects(false);
+
+        return client.request(options)
+                .chain(request -> request.send())
+                .chain(response -> {
+                    String location = response.getHeader("Location");
+                    if (!REDIRECT_STATUSES.contains(response.statusCode()) || location == null) {
+                        // Held until download() has a file to pipe the body into
+                        response.pause();
+                        return Uni.createFrom().item(response);
+                    }
+                    URI next;
+                    try {
+                        next = uri.resolve(location.trim());
+                    } catch (IllegalArgumentException e) {
+                        return Uni.createFrom().failure(new IOException("Invalid redirect from " + uri + ": " + location, e));
+                    }
+                    if (redirects >= MAX_REDIRECTS) {
+                        return Uni.createFrom().failure(new IOException("Too many redirects for " + uri));
+                    }
+                    if (!isMirrored(next)) {
+                        return Uni.createFrom().failure(new IOException("Media redirected to a host that is not mirrored: " + next.getHost()));
+                    }
+                    // The redirect body is discarded; ending it returns the connection to the pool
+                    return response.end().onFailure().recoverWithNull()
+                            .chain(() -> fetch(next, redirects + 1));
+                });
+    }
+
+    private boolean isMirrored(URI uri) {
+        return uri.getHost() != null
+                && allowedHosts.contains(uri.getHost().toLowerCase(Locale.ROOT))
+                && ("https".equals(uri.getScheme()) || "http".equals(uri.getScheme()));
+    }
+
+    private Uni<Void> download(HttpClientResponse response, URI uri, String partial) {
+        // A rejected body is resumed with no handler, which discards it and frees the connection
+        if (response.statusCode() != 200) {
+            response.resume();
+            return Uni.createFrom().failure(new IOException("NASA answered " + response.statusCode() + " for " + uri));
+        }
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength != null && Long.parseLong(contentLength) > maxFileBytes) {
+            response.resume();
+            return Uni.createFrom().failure(new IOException("Media file is larger than " + maxFileBytes + " bytes: " + uri));
+        }
+        return vertx.fileSystem().open(partial, new OpenOptions().setWrite(true).setCreateNew(true))
+                .chain(file -> response.pipeTo(file));
+    }
+
+    private MediaFile mediaFile(String name, long size) {
+        String contentType = URLConnection.guessContentTypeFromName(name);
+        return new MediaFile(directory.resolve(name), size, contentType == null ? "application/octet-stream" : contentType);
+    }
+
+    private void delete(String name) {
+        try {
+            Files.deleteIfExists(directory.resolve(name));
+        } catch (IOException e) {
+            LOGGER.warnf(e, "Failed to delete mirrored media file %s", name);
+        }
+    }
+
+    // The same URL always maps to the same name; the extension is kept for the content type
+    private static String fileName(URI uri) {
+        String name = UUID.nameUUIDFromBytes(uri.toString().getBytes(StandardCharsets.UTF_8)).toString();
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        int dot = path.lastIndexOf('.');
+        if (dot >= 0 && dot > path.lastIndexOf('/')) {
+            String extension = path.substring(dot + 1).toLowerCase(Locale.ROOT);
+            if (EXTENSION.matcher(extension).matches()) {
+                return name + "." + extension;
+            }
+        }
+        return name;
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
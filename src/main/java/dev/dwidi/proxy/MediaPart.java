@@ -0,0 +1,14 @@
+package dev.dwidi.proxy;
+
+import dev.dwidi.utils.ByteRange;
+import lombok.Value;
+
+/**
+ * The part of a mirrored file to send for one request. The range is null when the requested
+ * range lies outside the file.
+ */
+@Value
+public class MediaPart {
+    MediaFile file;
+    ByteRange range;
+}
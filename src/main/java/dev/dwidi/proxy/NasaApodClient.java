@@ -1,5 +1,6 @@
 package dev.dwidi.proxy;
 
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.GET;
@@ -7,12 +8,14 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
 import java.util.List;
 
 @Path("/planetary")
 @RegisterRestClient(configKey = "nasa-api")
+@RegisterProvider(NasaRateLimitFilter.class)
 @ApplicationScoped
 public interface NasaApodClient {
     @GET
@@ -23,4 +26,14 @@ public interface NasaApodClient {
             @QueryParam("end_date") String endDate,
             @QueryParam("api_key") String apiKey
     );
+
+    // Same request as getApodData, but hands back the raw body chunks as they arrive
+    @GET
+    @Path("/apod")
+    @Produces(MediaType.APPLICATION_JSON)
+    Multi<byte[]> streamApodData(
+            @QueryParam("start_date") String startDate,
+            @QueryParam("end_date") String endDate,
+            @QueryParam("api_key") String apiKey
+    );
 }
@@ -0,0 +1,181 @@
+package dev.dwidi.proxy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dwidi.dto.SingleFlightStatsDTO;
+import dev.dwidi.utils.DateRange;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entry point for all upstream APOD requests. Days already in the {@link ApodResponseCache}
+ * are answered locally. Concurrent callers asking for the same date window, or a window
+ * inside one already in flight, share a single NASA call.
+ * Streamed requests are not coalesced since their items can only be consumed once.
+ * Every call is paced by the {@link NasaRateLimiter}, draws its key from the {@link ApiKeyPool}
+ * and is retried with backoff on 429/5xx, which also moves it to another key. Each attempt has
+ * its own timeout, so time spent waiting for the limiter or backing off does not count against it.
+ */
+@ApplicationScoped
+public class NasaApodGateway {
+
+    private static final Logger LOGGER = Logger.getLogger(NasaApodGateway.class);
+    private static final Duration RETRY_INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration RETRY_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    @Inject
+    @RestClient
+    NasaApodClient nasaApodClient;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    NasaRateLimiter rateLimiter;
+
+    @Inject
+    ApiKeyPool apiKeyPool;
+
+    @Inject
+    ApodResponseCache responseCache;
+
+    @ConfigProperty(name = "nasa.rate-limit.max-retries", defaultValue = "3")
+    int maxRetries;
+
+    @ConfigProperty(name = "nasa.request-timeout", defaultValue = "10s")
+    Duration requestTimeout;
+
+    private final Map<DateRange, Uni<List<NasaApodResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    /**
+     * Serves cached days directly and covers all misses with one upstream call spanning
+     * the first to the last missing day.
+     */
+    public Uni<List<NasaApodResponse>> getApodData(DateRange range) {
+        return Uni.createFrom().deferred(() -> {
+            Map<LocalDate, NasaApodResponse> cached = new TreeMap<>();
+            LocalDate firstMiss = null;
+            LocalDate lastMiss = null;
+            for (LocalDate day = range.getStart(); !day.isAfter(range.getEnd()); day = day.plusDays(1)) {
+                NasaApodResponse response = responseCache.get(day);
+                if (response != null) {
+                    cached.put(day, response);
+                } else {
+                    if (firstMiss == null) {
+                        firstMiss = day;
+                    }
+                    lastMiss = day;
+                }
+            }
+
+            if (firstMiss == null) {
+                return Uni.createFrom().item(List.copyOf(cached.values()));
+            }
+
+            return fetchShared(new DateRange(firstMiss, lastMiss))
+                    .map(fetched -> {
+                        Map<LocalDate, NasaApodResponse> merged = new TreeMap<>(cached);
+                        fetched.forEach(response -> merged.put(response.getDate(), response));
+                        return List.copyOf(merged.values());
+                    });
+        });
+    }
+
+    private Uni<List<NasaApodResponse>> fetchShared(DateRange range) {
+        return Uni.createFrom().deferred(() -> {
+            Uni<List<NasaApodResponse>> covering = findCoveringRequest(range);
+            if (covering != null) {
+                coalescedCalls.incrementAndGet();
+                LOGGER.debugf("Coalesced APOD request for %s to %s", range.getStart(), range.getEnd());
+                return covering.map(responses -> filterToRange(responses, range));
+            }
+
+            return inFlight.computeIfAbsent(range, this::startUpstreamRequest);
+        });
+    }
+
+    public Multi<NasaApodResponse> streamApodData(DateRange range) {
+        return Multi.createFrom().deferred(() -> {
+            upstreamCalls.incrementAndGet();
+            ApodStreamDecoder decoder = new ApodStreamDecoder(objectMapper);
+            return rateLimiter.throttleStream(() -> apiKeyPool.withKeyStream(key -> nasaApodClient.streamApodData(
+                            range.getStart().format(DateTimeFormatter.ISO_DATE),
+                            range.getEnd().format(DateTimeFormatter.ISO_DATE),
+                            key
+                    )))
+                    .onItem().transformToIterable(decoder::feed)
+                    .onItem().invoke(responseCache::put)
+                    .onCompletion().invoke(decoder::finish);
+        })
+                // Rows are upserted, so replaying a window that failed part-way is harmless
+                .onFailure(this::isThrottled).retry()
+                .withBackOff(RETRY_INITIAL_BACKOFF, RETRY_MAX_BACKOFF).atMost(maxRetries);
+    }
+
+    public SingleFlightStatsDTO getSingleFlightStats() {
+        return new SingleFlightStatsDTO(upstreamCalls.get(), coalescedCalls.get(), inFlight.size());
+    }
+
+    private Uni<List<NasaApodResponse>> findCoveringRequest(DateRange range) {
+        Uni<List<NasaApodResponse>> exact = inFlight.get(range);
+        if (exact != null) {
+            return exact;
+        }
+        return inFlight.entrySet().stream()
+                .filter(entry -> entry.getKey().contains(range))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    // Runs inside computeIfAbsent, so only the first caller for a window gets here
+    private Uni<List<NasaApodResponse>> startUpstreamRequest(DateRange range) {
+        upstreamCalls.incrementAndGet();
+        // The timeout covers one HTTP attempt, not the wait for a rate limiter slot or the backoff
+        return Uni.createFrom().deferred(() -> rateLimiter.throttle(() -> apiKeyPool.withKey(key -> nasaApodClient.getApodData(
+                        range.getStart().format(DateTimeFormatter.ISO_DATE),
+                        range.getEnd().format(DateTimeFormatter.ISO_DATE),
+                        key
+                ).ifNoItem().after(requestTimeout).fail())))
+                .onFailure(this::isRetryable).retry()
+                .withBackOff(RETRY_INITIAL_BACKOFF, RETRY_MAX_BACKOFF).atMost(maxRetries)
+                .onItem().invoke(responses -> responses.forEach(responseCache::put))
+                .onTermination().invoke(() -> inFlight.remove(range))
+                .memoize().indefinitely();
+    }
+
+    private boolean isRetryable(Throwable throwable) {
+        return isThrottled(throwable) || throwable instanceof TimeoutException;
+    }
+
+    private boolean isThrottled(Throwable throwable) {
+        if (throwable instanceof WebApplicationException exception && exception.getResponse() != null) {
+            int status = exception.getResponse().getStatus();
+            return status == 429 || status >= 500;
+        }
+        return false;
+    }
+
+    private List<NasaApodResponse> filterToRange(List<NasaApodResponse> responses, DateRange range) {
+        return responses.stream()
+                .filter(response -> range.contains(response.getDate()))
+                .toList();
+    }
+}
@@ -0,0 +1,61 @@
+package dev.dwidi.proxy;
+
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reports the status and quota headers of every NASA response to the {@link ApiKeyPool} for the
+ * key that was used, and the pool-wide quota to the {@link NasaRateLimiter}.
+ */
+public class NasaRateLimitFilter implements ClientResponseFilter {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    static final String API_KEY_PARAM = "api_key=";
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        int status = responseContext.getStatus();
+        ApiKeyPool apiKeyPool = CDI.current().select(ApiKeyPool.class).get();
+        apiKeyPool.onResponse(
+                extractApiKey(requestContext.getUri().getRawQuery()),
+                status,
+                parseHeader(responseContext.getHeaderString(LIMIT_HEADER)),
+                parseHeader(responseContext.getHeaderString(REMAINING_HEADER))
+        );
+        CDI.current().select(NasaRateLimiter.class).get().onResponse(
+                status,
+                apiKeyPool.getTotalLimit(),
+                apiKeyPool.getTotalRemaining()
+        );
+    }
+
+    private String extractApiKey(String query) {
+        if (query == null) {
+            return null;
+        }
+        for (String param : query.split("&")) {
+            if (param.startsWith(API_KEY_PARAM)) {
+                return URLDecoder.decode(param.substring(API_KEY_PARAM.length()), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private Integer parseHeader(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package dev.dwidi.proxy;
+
+import dev.dwidi.dto.RateLimiterStatsDTO;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Token bucket in front of every NASA call. The refill rate is learned from the
+ * X-RateLimit-Remaining header so the remaining hourly budget is spread evenly, and the
+ * number of concurrent calls follows AIMD: it grows slowly on success and halves on 429/5xx.
+ */
+@ApplicationScoped
+public class NasaRateLimiter {
+
+    private static final Logger LOGGER = Logger.getLogger(NasaRateLimiter.class);
+    private static final double SECONDS_PER_QUOTA_WINDOW = 3600.0;
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "nasa.rate-limit.initial-hourly-limit", defaultValue = "1000")
+    int initialHourlyLimit;
+
+    @ConfigProperty(name = "nasa.rate-limit.burst", defaultValue = "5")
+    int burst;
+
+    @ConfigProperty(name = "nasa.rate-limit.max-concurrency", defaultValue = "8")
+    int maxConcurrency;
+
+    private final Deque<Waiter> waiting = new ArrayDeque<>();
+    private final AtomicLong throttleEvents = new AtomicLong();
+    private final AtomicLong pacingDelays = new AtomicLong();
+
+    // Guarded by this
+    private double ratePerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+    private double concurrencyLimit;
+    private int inFlight;
+    private boolean drainScheduled;
+    private Integer quotaLimit;
+    private Integer quotaRemaining;
+
+    @PostConstruct
+    void init() {
+        ratePerSecond = initialHourlyLimit / SECONDS_PER_QUOTA_WINDOW;
+        tokens = burst;
+        lastRefillNanos = System.nanoTime();
+        concurrencyLimit = maxConcurrency;
+    }
+
+    public <T> Uni<T> throttle(Supplier<Uni<T>> call) {
+        return acquire().chain(() -> call.get().onTermination().invoke(this::release));
+    }
+
+    public <T> Multi<T> throttleStream(Supplier<Multi<T>> call) {
+        return acquire().onItem().transformToMulti(ignored -> call.get().onTermination().invoke(this::release));
+    }
+
+    /**
+     * Called for every NASA response with its status and quota headers (null when absent).
+     */
+    public void onResponse(int status, Integer limit, Integer remaining) {
+        synchronized (this) {
+            if (limit != null) {
+                quotaLimit = limit;
+            }
+            if (remaining != null) {
+                quotaRemaining = remaining;
+                refill();
+                ratePerSecond = Math.max(remaining, 1) / SECONDS_PER_QUOTA_WINDOW;
+            }
+
+            if (status == 429 || status >= 500) {
+                concurrencyLimit = Math.max(1.0, concurrencyLimit / 2);
+                if (status == 429) {
+                    tokens = 0;
+                }
+            } else if (status < 400) {
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1.0 / concurrencyLimit);
+            }
+        }
+
+        if (status == 429 || status >= 500) {
+            throttleEvents.incrementAndGet();
+            LOGGER.warnf("NASA API responded %d, concurrency limit reduced to %d", status, getConcurrencyLimit());
+        }
+        drain();
+    }
+
+    public RateLimiterStatsDTO getStats() {
+        synchronized (this) {
+            return new RateLimiterStatsDTO(
+                    ratePerSecond * SECONDS_PER_QUOTA_WINDOW,
+                    (int) concurrencyLimit,
+                    inFlight,
+                    waiting.size(),
+                    throttleEvents.get(),
+                    pacingDelays.get(),
+                    quotaLimit,
+                    quotaRemaining
+            );
+        }
+    }
+
+    private synchronized int getConcurrencyLimit() {
+        return (int) concurrencyLimit;
+    }
+
+    private Uni<Void> acquire() {
+        return Uni.createFrom().emitter(emitter -> {
+            Waiter waiter = new Waiter(emitter);
+            emitter.onTermination(() -> {
+                if (waiter.cancel()) {
+                    synchronized (this) {
+                        waiting.remove(waiter);
+                    }
+                }
+            });
+            synchronized (this) {
+                waiting.add(waiter);
+            }
+            drain();
+        });
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        long delayMillis = 0;
+        synchronized (this) {
+            refill();
+            while (!waiting.isEmpty() && inFlight < (int) concurrencyLimit && tokens >= 1) {
+                Waiter waiter = waiting.poll();
+                if (waiter.grant()) {
+                    tokens -= 1;
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+            if (!waiting.isEmpty() && tokens < 1 && !drainScheduled) {
+                drainScheduled = true;
+                delayMillis = Math.max(1, (long) Math.ceil((1 - tokens) / ratePerSecond * 1000));
+                pacingDelays.incrementAndGet();
+            }
+        }
+
+        granted.forEach(waiter -> waiter.emitter.complete(null));
+        if (delayMillis > 0) {
+            vertx.setTimer(delayMillis, id -> {
+                synchronized (this) {
+                    drainScheduled = false;
+                }
+                drain();
+            });
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * ratePerSecond);
+        lastRefillNanos = now;
+    }
+
+    private static final class Waiter {
+        private final UniEmitter<? super Void> emitter;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Waiter(UniEmitter<? super Void> emitter) {
+            this.emitter = emitter;
+        }
+
+        boolean grant() {
+            return settled.compareAndSet(false, true);
+        }
+
+        boolean cancel() {
+            return settled.compareAndSet(false, true);
+        }
+    }
+}
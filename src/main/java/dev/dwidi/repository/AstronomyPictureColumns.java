@@ -0,0 +1,383 @@
+package dev.dwidi.repository;
+
+import dev.dwidi.entity.AstronomyPicture;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable column-oriented copy of astronomy_picture, ordered by date. Rows are addressed by
+ * position; low-cardinality strings are dictionary encoded and every sort field the listing
+ * allows has a pre-sorted position index. Changes produce a new instance.
+ */
+final class AstronomyPictureColumns {
+
+    private static final int NO_CODE = -1;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    // Object header plus the backing array header of a compact string
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    final int size;
+    final int[] epochDays;
+    final long[] ids;
+    final String[] titles;
+    final String[] explanations;
+    final String[] urls;
+    final String[] hdurls;
+    final int[] mediaTypes;
+    final int[] copyrights;
+    final int[] serviceVersions;
+    final String[] mediaTypeDictionary;
+    final String[] copyrightDictionary;
+    final String[] serviceVersionDictionary;
+    final long[] createdAtMicros;
+    final long[] updatedAtMicros;
+
+    // Positions ordered by (key, id) with nulls last and keys in code point order. That is the order
+    // of the ucs_basic collation the database sorts these keys with, and read backwards it is the
+    // descending order, where PostgreSQL puts nulls first
+    final int[] byTitle;
+    final int[] byMediaType;
+
+    final long estimatedBytes;
+
+    private AstronomyPictureColumns(Builder builder) {
+        size = builder.count;
+        epochDays = Arrays.copyOf(builder.epochDays, size);
+        ids = Arrays.copyOf(builder.ids, size);
+        titles = Arrays.copyOf(builder.titles, size);
+        explanations = Arrays.copyOf(builder.explanations, size);
+        urls = Arrays.copyOf(builder.urls, size);
+        hdurls = Arrays.copyOf(builder.hdurls, size);
+        mediaTypes = Arrays.copyOf(builder.mediaTypes, size);
+        copyrights = Arrays.copyOf(builder.copyrights, size);
+        serviceVersions = Arrays.copyOf(builder.serviceVersions, size);
+        mediaTypeDictionary = builder.mediaTypeDictionary.toArray(String[]::new);
+        copyrightDictionary = builder.copyrightDictionary.toArray(String[]::new);
+        serviceVersionDictionary = builder.serviceVersionDictionary.toArray(String[]::new);
+        createdAtMicros = Arrays.copyOf(builder.createdAtMicros, size);
+        updatedAtMicros = Arrays.copyOf(builder.updatedAtMicros, size);
+
+        // Rows copied from the source keep their relative order, so only the added rows are sorted
+        // and merged in
+        AstronomyPictureColumns source = builder.source;
+        int[] positionInSource = Arrays.copyOf(builder.sourcePositions, size);
+        int[] added = IntStream.range(0, size).filter(position -> positionInSource[position] < 0).toArray();
+        int[] newPositions = new int[source == null ? 0 : source.size];
+        Arrays.fill(newPositions, -1);
+        for (int position = 0; position < size; position++) {
+            if (positionInSource[position] >= 0) {
+                newPositions[positionInSource[position]] = position;
+            }
+        }
+
+        byTitle = mergedPositions(source == null ? new int[0] : source.byTitle, newPositions, added.clone(),
+                this::compareTitles);
+        byMediaType = mergedPositions(source == null ? new int[0] : source.byMediaType, newPositions, added.clone(),
+                this::compareMediaTypes);
+
+        estimatedBytes = estimateBytes();
+    }
+
+    static AstronomyPictureColumns empty() {
+        return new Builder(null, 0).build();
+    }
+
+    /**
+     * Returns a copy with the given rows inserted or replaced by date. Rows without an id have
+     * not been stored and are ignored.
+     */
+    AstronomyPictureColumns merge(List<AstronomyPicture> changes) {
+        TreeMap<Integer, AstronomyPicture> changesByDay = new TreeMap<>();
+        for (AstronomyPicture change : changes) {
+            if (change.getId() != null && change.getDate() != null) {
+                changesByDay.put((int) change.getDate().toEpochDay(), change);
+            }
+        }
+
+        Builder builder = new Builder(this, size + changesByDay.size());
+        int position = 0;
+        for (Map.Entry<Integer, AstronomyPicture> change : changesByDay.entrySet()) {
+            while (position < size && epochDays[position] < change.getKey()) {
+                builder.copy(position++);
+            }
+            if (position < size && epochDays[position] == change.getKey()) {
+                position++;
+            }
+            builder.add(change.getValue());
+        }
+        while (position < size) {
+            builder.copy(position++);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Position of the row at index {@code rank} of the given sort, counting from the first row
+     * of that sort in the requested direction.
+     */
+    int positionAt(String sortField, boolean ascending, int rank) {
+        int index = ascending ? rank : size - 1 - rank;
+        return switch (sortField) {
+            case "title" -> byTitle[index];
+            case "mediaType" -> byMediaType[index];
+            default -> index;
+        };
+    }
+
+    // First position whose date is on or after the given day
+    int lowerBound(LocalDate date) {
+        int day = (int) date.toEpochDay();
+        int position = Arrays.binarySearch(epochDays, 0, size, day);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    AstronomyPicture materialize(int position) {
+        AstronomyPicture entity = new AstronomyPicture();
+        entity.setId(ids[position]);
+        entity.setDate(LocalDate.ofEpochDay(epochDays[position]));
+        entity.setTitle(titles[position]);
+        entity.setExplanation(explanations[position]);
+        entity.setUrl(urls[position]);
+        entity.setHdurl(hdurls[position]);
+        entity.setMediaType(decode(mediaTypeDictionary, mediaTypes[position]));
+        entity.setCopyright(decode(copyrightDictionary, copyrights[position]));
+        entity.setServiceVersion(decode(serviceVersionDictionary, serviceVersions[position]));
+        entity.setCreatedAt(fromMicros(createdAtMicros[position]));
+        entity.setUpdatedAt(fromMicros(updatedAtMicros[position]));
+        return entity;
+    }
+
+    private int[] mergedPositions(int[] sourceOrder, int[] newPositions, int[] added, PositionOrder order) {
+        sortPositions(added, order);
+        int[] merged = new int[size];
+        int count = 0;
+        int next = 0;
+        for (int sourcePosition : sourceOrder) {
+            int position = newPositions[sourcePosition];
+            if (position < 0) {
+                continue;
+            }
+            while (next < added.length && order.compare(added[next], position) < 0) {
+                merged[count++] = added[next++];
+            }
+            merged[count++] = position;
+        }
+        while (next < added.length) {
+            merged[count++] = added[next++];
+        }
+        return merged;
+    }
+
+    // Bottom-up merge sort on primitive positions, stable and without boxing
+    private static void sortPositions(int[] positions, PositionOrder order) {
+        int[] buffer = new int[positions.length];
+        for (int width = 1; width < positions.length; width *= 2) {
+            for (int start = 0; start < positions.length - width; start += 2 * width) {
+                int middle = start + width;
+                int end = Math.min(start + 2 * width, positions.length);
+                int left = start;
+                int right = middle;
+                int out = start;
+                while (left < middle && right < end) {
+                    buffer[out++] = order.compare(positions[right], positions[left]) < 0 ? positions[right++] : positions[left++];
+                }
+                while (left < middle) {
+                    buffer[out++] = positions[left++];
+                }
+                while (right < end) {
+                    buffer[out++] = positions[right++];
+                }
+                System.arraycopy(buffer, start, positions, start, end - start);
+            }
+        }
+    }
+
+    private int compareTitles(int left, int right) {
+        return compareKeys(titles[left], titles[right], ids[left], ids[right]);
+    }
+
+    private int compareMediaTypes(int left, int right) {
+        return compareKeys(decode(mediaTypeDictionary, mediaTypes[left]), decode(mediaTypeDictionary, mediaTypes[right]),
+                ids[left], ids[right]);
+    }
+
+    private static int compareKeys(String left, String right, long leftId, long rightId) {
+        int byKey;
+        if (left == null || right == null) {
+            byKey = left == null ? (right == null ? 0 : 1) : -1;
+        } else {
+            byKey = compareCodePoints(left, right);
+        }
+        return byKey != 0 ? byKey : Long.compare(leftId, rightId);
+    }
+
+    // String.compareTo compares UTF-16 units, which puts characters beyond U+FFFF before U+E000-U+FFFF
+    static int compareCodePoints(String left, String right) {
+        int leftIndex = 0;
+        int rightIndex = 0;
+        while (leftIndex < left.length() && rightIndex < right.length()) {
+            int leftCodePoint = left.codePointAt(leftIndex);
+            int rightCodePoint = right.codePointAt(rightIndex);
+            if (leftCodePoint != rightCodePoint) {
+                return Integer.compare(leftCodePoint, rightCodePoint);
+            }
+            leftIndex += Character.charCount(leftCodePoint);
+            rightIndex += Character.charCount(rightCodePoint);
+        }
+        return Integer.compare(left.length() - leftIndex, right.length() - rightIndex);
+    }
+
+    private long estimateBytes() {
+        // Six int columns and indexes, three long columns and four compressed string references per row
+        long bytes = (long) size * (Integer.BYTES * 6 + Long.BYTES * 3 + Integer.BYTES * 4);
+        for (int position = 0; position < size; position++) {
+            bytes += stringBytes(titles[position]) + stringBytes(explanations[position])
+                    + stringBytes(urls[position]) + stringBytes(hdurls[position]);
+        }
+        for (String[] dictionary : List.of(mediaTypeDictionary, copyrightDictionary, serviceVersionDictionary)) {
+            for (String value : dictionary) {
+                bytes += stringBytes(value);
+            }
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+
+    private static String decode(String[] dictionary, int code) {
+        return code == NO_CODE ? null : dictionary[code];
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NO_TIMESTAMP;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    @FunctionalInterface
+    private interface PositionOrder {
+        int compare(int left, int right);
+    }
+
+    private static final class Builder {
+        private final AstronomyPictureColumns source;
+        private int count;
+        // Position each row had in the source, or -1 for added rows
+        private final int[] sourcePositions;
+        private final int[] epochDays;
+        private final long[] ids;
+        private final String[] titles;
+        private final String[] explanations;
+        private final String[] urls;
+        private final String[] hdurls;
+        private final int[] mediaTypes;
+        private final int[] copyrights;
+        private final int[] serviceVersions;
+        private final long[] createdAtMicros;
+        private final long[] updatedAtMicros;
+
+        // Dictionaries only grow, so codes copied from the source stay valid
+        private final List<String> mediaTypeDictionary = new ArrayList<>();
+        private final List<String> copyrightDictionary = new ArrayList<>();
+        private final List<String> serviceVersionDictionary = new ArrayList<>();
+        private final Map<String, Integer> mediaTypeCodes = new HashMap<>();
+        private final Map<String, Integer> copyrightCodes = new HashMap<>();
+        private final Map<String, Integer> serviceVersionCodes = new HashMap<>();
+
+        private Builder(AstronomyPictureColumns source, int capacity) {
+            this.source = source;
+            sourcePositions = new int[capacity];
+            epochDays = new int[capacity];
+            ids = new long[capacity];
+            titles = new String[capacity];
+            explanations = new String[capacity];
+            urls = new String[capacity];
+            hdurls = new String[capacity];
+            mediaTypes = new int[capacity];
+            copyrights = new int[capacity];
+            serviceVersions = new int[capacity];
+            createdAtMicros = new long[capacity];
+            updatedAtMicros = new long[capacity];
+
+            if (source != null) {
+                seed(source.mediaTypeDictionary, mediaTypeDictionary, mediaTypeCodes);
+                seed(source.copyrightDictionary, copyrightDictionary, copyrightCodes);
+                seed(source.serviceVersionDictionary, serviceVersionDictionary, serviceVersionCodes);
+            }
+        }
+
+        private void copy(int position) {
+            sourcePositions[count] = position;
+            epochDays[count] = source.epochDays[position];
+            ids[count] = source.ids[position];
+            titles[count] = source.titles[position];
+            explanations[count] = source.explanations[position];
+            urls[count] = source.urls[position];
+            hdurls[count] = source.hdurls[position];
+            mediaTypes[count] = source.mediaTypes[position];
+            copyrights[count] = source.copyrights[position];
+            serviceVersions[count] = source.serviceVersions[position];
+            createdAtMicros[count] = source.createdAtMicros[position];
+            updatedAtMicros[count] = source.updatedAtMicros[position];
+            count++;
+        }
+
+        private void add(AstronomyPicture entity) {
+            sourcePositions[count] = -1;
+            epochDays[count] = (int) entity.getDate().toEpochDay();
+            ids[count] = entity.getId();
+            titles[count] = entity.getTitle();
+            explanations[count] = entity.getExplanation();
+            urls[count] = entity.getUrl();
+            hdurls[count] = entity.getHdurl();
+            mediaTypes[count] = encode(entity.getMediaType(), mediaTypeDictionary, mediaTypeCodes);
+            copyrights[count] = encode(entity.getCopyright(), copyrightDictionary, copyrightCodes);
+            serviceVersions[count] = encode(entity.getServiceVersion(), serviceVersionDictionary, serviceVersionCodes);
+            createdAtMicros[count] = toMicros(entity.getCreatedAt());
+            updatedAtMicros[count] = toMicros(entity.getUpdatedAt());
+            count++;
+        }
+
+        private AstronomyPictureColumns build() {
+            return new AstronomyPictureColumns(this);
+        }
+
+        private static void seed(String[] values, List<String> dictionary, Map<String, Integer> codes) {
+            for (String value : values) {
+                codes.put(value, dictionary.size());
+                dictionary.add(value);
+            }
+        }
+
+        private static int encode(String value, List<String> dictionary, Map<String, Integer> codes) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            return codes.computeIfAbsent(value, newValue -> {
+                dictionary.add(newValue);
+                return dictionary.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.dwidi.repository;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Total row count of astronomy_picture kept in memory so listing pages does not run COUNT(*).
+ * Writes adjust it after they commit and a periodic reconciliation corrects any drift, e.g. from
+ * rows changed outside this application or counted while a reconciliation was running.
+ */
+@ApplicationScoped
+public class AstronomyPictureCounter {
+
+    private static final Logger LOGGER = Logger.getLogger(AstronomyPictureCounter.class);
+
+    private static final long UNKNOWN = -1;
+
+    private static final String COUNT_SQL = "SELECT count(*) AS total FROM astronomy_picture";
+
+    // reltuples is -1 until the table has been vacuumed or analyzed for the first time
+    private static final String ESTIMATE_SQL =
+            "SELECT reltuples::bigint AS total FROM pg_class WHERE oid = 'astronomy_picture'::regclass";
+
+    @Inject
+    Pool pool;
+
+    @ConfigProperty(name = "apod.count.mode", defaultValue = "exact")
+    String mode;
+
+    private final AtomicLong total = new AtomicLong(UNKNOWN);
+
+    public Uni<Long> total() {
+        long current = total.get();
+        if (current != UNKNOWN) {
+            return Uni.createFrom().item(current);
+        }
+        return reconcile();
+    }
+
+    public void added(int rows) {
+        if (rows > 0) {
+            total.updateAndGet(current -> current == UNKNOWN ? UNKNOWN : current + rows);
+        }
+    }
+
+    public Uni<Long> reconcile() {
+        Uni<Long> source = "estimated".equalsIgnoreCase(mode)
+                ? queryTotal(ESTIMATE_SQL).flatMap(estimate -> estimate < 0 ? queryTotal(COUNT_SQL) : Uni.createFrom().item(estimate))
+                : queryTotal(COUNT_SQL);
+
+        return source.invoke(reconciled -> {
+            long previous = total.getAndSet(reconciled);
+            if (previous != UNKNOWN && previous != reconciled) {
+                LOGGER.infof("Reconciled astronomy picture count from %d to %d (%s)", previous, reconciled, mode);
+            }
+        });
+    }
+
+    private Uni<Long> queryTotal(String sql) {
+        return pool.query(sql).execute()
+                .map(rowSet -> rowSet.iterator().next().getLong("total"));
+    }
+}
@@ -0,0 +1,110 @@
+package dev.dwidi.repository;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.PageCacheStatsDTO;
+import dev.dwidi.dto.PageDTO;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Finished listing pages, keyed by their offset pagination parameters. Concurrent misses on the
+ * same key share one load. Every committed write moves to a new generation, so pages read before
+ * it are never served again, even when their load completes after the write. The TTL bounds how
+ * long writes made outside this application stay invisible.
+ */
+@ApplicationScoped
+public class AstronomyPicturePageCache {
+
+    // Rough cost of the map node, the page and its pagination object
+    private static final int PAGE_OVERHEAD_BYTES = 256;
+    // Rough cost of one DTO object and its two timestamps, strings excluded
+    private static final int ROW_OVERHEAD_BYTES = 160;
+
+    @ConfigProperty(name = "apod.page-cache.max-bytes", defaultValue = "16777216")
+    long maxBytes;
+
+    @ConfigProperty(name = "apod.page-cache.ttl", defaultValue = "1m")
+    Duration ttl;
+
+    private AsyncCache<String, PageDTO<AstronomyPictureResponseDTO>> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, PageDTO<AstronomyPictureResponseDTO> page) -> estimateBytes(page))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached page, or runs the loader once for all concurrent callers asking for it.
+     * A failed load is not cached.
+     */
+    public Uni<PageDTO<AstronomyPictureResponseDTO>> get(int page, int size, String sortBy, String sortDirection,
+                                                         Supplier<Uni<PageDTO<AstronomyPictureResponseDTO>>> loader) {
+        String key = generation.get() + "|" + page + "|" + size + "|" + sortBy + "|" + sortDirection;
+        // The loader is subscribed on the calling thread, so it keeps the caller's Vert.x context.
+        // Each caller waits on its own dependent stage, so one cancelled request cannot cancel the shared load
+        return Uni.createFrom().completionStage(() -> cache
+                .get(key, (ignored, executor) -> loader.get().subscribeAsCompletionStage())
+                .thenApply(cached -> cached));
+    }
+
+    /**
+     * Drops every page after a committed write. Call it once the write is visible to readers.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        cache.synchronous().invalidateAll();
+    }
+
+    public PageCacheStatsDTO getStats() {
+        CacheStats stats = cache.synchronous().stats();
+        long weightedSize = cache.synchronous().policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new PageCacheStatsDTO(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidations.get(),
+                cache.synchronous().estimatedSize(),
+                weightedSize,
+                maxBytes
+        );
+    }
+
+    private static int estimateBytes(PageDTO<AstronomyPictureResponseDTO> page) {
+        int bytes = PAGE_OVERHEAD_BYTES;
+        for (AstronomyPictureResponseDTO row : page.getContent()) {
+            bytes += ROW_OVERHEAD_BYTES + 2 * (length(row.getCopyright())
+                    + length(row.getExplanation())
+                    + length(row.getHdurl())
+                    + length(row.getMediaType())
+                    + length(row.getServiceVersion())
+                    + length(row.getTitle())
+                    + length(row.getUrl()));
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -1,71 +1,469 @@
 package dev.dwidi.repository;
 
+import dev.dwidi.dto.AstronomyPictureSummaryDTO;
 import dev.dwidi.dto.PageDTO;
 import dev.dwidi.dto.Pagination;
 import dev.dwidi.entity.AstronomyPicture;
+import io.quarkus.hibernate.reactive.panache.PanacheQuery;
 import io.quarkus.hibernate.reactive.panache.PanacheRepository;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Tuple;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-
-import static io.quarkus.hibernate.reactive.panache.Panache.withTransaction;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @ApplicationScoped
 public class AstronomyPictureRepository implements PanacheRepository<AstronomyPicture> {
 
     private static final Logger LOGGER = Logger.getLogger(AstronomyPictureRepository.class);
 
-    public Uni<List<AstronomyPicture>> persistBatch(List<AstronomyPicture> entities) {
-        return withTransaction(() ->
-                Uni.join().all(
-                                entities.stream()
-                                        .map(this::persist)
-                                        .toList()
-                        ).andCollectFailures()
-                        .replaceWith(entities)
-        );
+    // The WHERE clause turns re-fetches of identical data into no-ops that return no row;
+    // xmax is 0 only for freshly inserted tuples, which tells inserts and updates apart
+    private static final String UPSERT_SQL = "INSERT INTO astronomy_picture " +
+            "(copyright, date, explanation, hdurl, media_type, service_version, title, url, created_at, updated_at) " +
+            "VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10) " +
+            "ON CONFLICT (date) DO UPDATE SET " +
+            "copyright = EXCLUDED.copyright, explanation = EXCLUDED.explanation, hdurl = EXCLUDED.hdurl, " +
+            "media_type = EXCLUDED.media_type, service_version = EXCLUDED.service_version, " +
+            "title = EXCLUDED.title, url = EXCLUDED.url, updated_at = EXCLUDED.updated_at " +
+            "WHERE (astronomy_picture.copyright, astronomy_picture.explanation, astronomy_picture.hdurl, " +
+            "astronomy_picture.media_type, astronomy_picture.service_version, astronomy_picture.title, " +
+            "astronomy_picture.url) IS DISTINCT FROM (EXCLUDED.copyright, EXCLUDED.explanation, EXCLUDED.hdurl, " +
+            "EXCLUDED.media_type, EXCLUDED.service_version, EXCLUDED.title, EXCLUDED.url) " +
+            "RETURNING id, created_at, updated_at, (xmax = 0) AS inserted";
+
+    private static final String FIND_BY_DATES_SQL =
+            "SELECT id, date, created_at, updated_at FROM astronomy_picture WHERE date = ANY($1)";
+
+    private static final String FIND_ALL_BY_DATES_SQL = "SELECT id, copyright, date, explanation, hdurl, " +
+            "media_type, service_version, title, url, created_at, updated_at FROM astronomy_picture WHERE date = ANY($1)";
+
+    private static final String STREAM_BY_DATE_RANGE_SQL = "SELECT id, copyright, date, explanation, hdurl, " +
+            "media_type, service_version, title, url, created_at, updated_at FROM astronomy_picture " +
+            "WHERE date BETWEEN $1 AND $2 ORDER BY date";
+
+    private static final String FIND_LATEST_DATE_SQL = "SELECT max(date) AS latest FROM astronomy_picture";
+
+    @Inject
+    Pool pool;
+
+    @Inject
+    AstronomyPictureCounter counter;
+
+    @Inject
+    AstronomyPictureSnapshot snapshot;
+
+    @Inject
+    TitleAutocomplete titleAutocomplete;
+
+    @Inject
+    AstronomyPicturePageCache pageCache;
+
+    @Inject
+    AstronomyPictureVersion version;
+
+    @ConfigProperty(name = "apod.export.fetch-size", defaultValue = "500")
+    int exportFetchSize;
+
+    /**
+     * Upserts all entities on their date with a single pipelined batch on the reactive pool
+     * instead of one Hibernate persist per row, which IDENTITY generation prevents from being batched.
+     */
+    public Uni<PersistResult> persistBatch(List<AstronomyPicture> entities) {
+        if (entities.isEmpty()) {
+            return Uni.createFrom().item(new PersistResult(entities, 0, 0, 0));
+        }
+
+        return pool.withTransaction(connection -> persistBatch(connection, entities))
+                .invoke(this::onCommitted);
+    }
+
+    /**
+     * Publishes a committed write to the in-memory count, snapshot, title index, page cache and
+     * table version.
+     */
+    public void onCommitted(PersistResult result) {
+        counter.added(result.getInserted());
+        snapshot.apply(result.getEntities());
+        titleAutocomplete.apply(result.getEntities());
+        // After the snapshot, so pages loaded for the new generation read the new rows
+        if (result.getWritten() > 0) {
+            pageCache.invalidate();
+        }
+        // Last, so a request that sees the new version also reads the new rows
+        version.committed(result);
+    }
+
+    /**
+     * Same as {@link #persistBatch(List)}, but runs on a caller-managed connection so the write
+     * can share a transaction with other statements. The caller passes the result to
+     * {@link #onCommitted(PersistResult)} once that transaction commits.
+     */
+    public Uni<PersistResult> persistBatch(SqlConnection connection, List<AstronomyPicture> entities) {
+        if (entities.isEmpty()) {
+            return Uni.createFrom().item(new PersistResult(entities, 0, 0, 0));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Tuple> rows = entities.stream()
+                .map(entity -> {
+                    entity.setCreatedAt(now);
+                    entity.setUpdatedAt(now);
+                    return toTuple(entity);
+                })
+                .toList();
+
+        return connection.preparedQuery(UPSERT_SQL).executeBatch(rows)
+                .flatMap(rowSet -> applyUpsertResults(connection, rowSet, entities));
+    }
+
+    public Uni<LocalDate> findLatestDate() {
+        return pool.query(FIND_LATEST_DATE_SQL).execute()
+                .map(rowSet -> rowSet.iterator().next().getLocalDate("latest"));
+    }
+
+    public Uni<List<AstronomyPicture>> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        LOGGER.debugf("Fetching stored data for date range: %s to %s", startDate, endDate);
+        if (snapshot.isReady()) {
+            return Uni.createFrom().item(snapshot.findByDateRange(startDate, endDate));
+        }
+        return find("date between ?1 and ?2", Sort.by("date"), startDate, endDate).list();
+    }
+
+    /**
+     * Resolves any set of dates with one {@code date = ANY($1)} query on the unique date index,
+     * or from the snapshot once it is loaded. Dates that are not stored are simply absent.
+     */
+    public Uni<List<AstronomyPicture>> findByDates(List<LocalDate> dates) {
+        LOGGER.debugf("Fetching stored data for %d dates", dates.size());
+        if (snapshot.isReady()) {
+            return Uni.createFrom().item(snapshot.findByDates(dates));
+        }
+
+        return pool.preparedQuery(FIND_ALL_BY_DATES_SQL)
+                .execute(Tuple.tuple().addArrayOfLocalDate(dates.toArray(LocalDate[]::new)))
+                .map(rowSet -> {
+                    List<AstronomyPicture> entities = new ArrayList<>(rowSet.size());
+                    rowSet.forEach(row -> entities.add(toEntity(row)));
+                    return entities;
+                });
+    }
+
+    /**
+     * Streams the rows stored between two dates, inclusive, in date order from a server-side
+     * cursor. Rows are fetched {@code apod.export.fetch-size} at a time and only as fast as the
+     * subscriber requests them, so memory does not grow with the size of the range.
+     */
+    public Multi<AstronomyPicture> streamByDateRange(LocalDate startDate, LocalDate endDate) {
+        LOGGER.debugf("Streaming stored data for date range: %s to %s", startDate, endDate);
+
+        // PostgreSQL cursors only live inside a transaction; closing the connection rolls it back
+        return Multi.createFrom().resourceFromUni(
+                        () -> pool.getConnection(),
+                        connection -> connection.begin()
+                                .chain(() -> connection.prepare(STREAM_BY_DATE_RANGE_SQL))
+                                .onItem().transformToMulti(statement -> statement
+                                        .createStream(exportFetchSize, Tuple.of(startDate, endDate))
+                                        .toMulti()))
+                .withFinalizer(SqlConnection::close)
+                .map(AstronomyPictureRepository::toEntity);
     }
 
     public Uni<PageDTO<AstronomyPicture>> findAllPaginated(int page, int size, String sortBy, String sortDirection) {
+        if (snapshot.isReady()) {
+            LOGGER.debugf("Serving page %d from snapshot: size=%d, sortBy=%s, sortDirection=%s", page, size, sortBy, sortDirection);
+            return Uni.createFrom().item(snapshot.page(page, size, validateSortField(sortBy), sortDirection.equalsIgnoreCase("asc")));
+        }
+        return findPage(page, size, sortBy, sortDirection, this::findAll, counter.total(), query -> query);
+    }
+
+    /**
+     * Same page as {@link #findAllPaginated}, but selects only the summary columns so the
+     * explanation is neither read nor transferred.
+     */
+    public Uni<PageDTO<AstronomyPictureSummaryDTO>> findSummariesPaginated(int page, int size, String sortBy, String sortDirection) {
+        return findPage(page, size, sortBy, sortDirection, this::findAll, counter.total(),
+                query -> query.project(AstronomyPictureSummaryDTO.class));
+    }
+
+    /**
+     * Page of the rows stored between two dates, inclusive. Both the page and its count are range
+     * scans on the unique date index.
+     */
+    public Uni<PageDTO<AstronomyPicture>> findPageInDateRange(LocalDate startDate, LocalDate endDate,
+                                                              int page, int size, String sortBy, String sortDirection) {
+        return findPage(page, size, sortBy, sortDirection,
+                sort -> find("date between ?1 and ?2", sort, startDate, endDate),
+                count("date between ?1 and ?2", startDate, endDate),
+                query -> query);
+    }
+
+    /**
+     * Seeks past the row a cursor points at instead of skipping rows with OFFSET, so every page
+     * costs the same index range scan on (sort key, id) no matter how deep it is.
+     * A null cursor returns the first page.
+     */
+    public Uni<PageDTO<AstronomyPicture>> findAllByCursor(String cursor, int size, String sortBy, String sortDirection) {
+        return findKeysetPage(cursor, size, sortBy, sortDirection, query -> query,
+                AstronomyPicture::getId,
+                (entity, sortField) -> sortValue(sortField, entity.getDate(), entity.getTitle(), entity.getMediaType()));
+    }
+
+    public Uni<PageDTO<AstronomyPictureSummaryDTO>> findSummariesByCursor(String cursor, int size, String sortBy, String sortDirection) {
+        return findKeysetPage(cursor, size, sortBy, sortDirection,
+                query -> query.project(AstronomyPictureSummaryDTO.class),
+                AstronomyPictureSummaryDTO::getId,
+                (summary, sortField) -> sortValue(sortField, summary.getDate(), summary.getTitle(), summary.getMediaType()));
+    }
+
+    private <T> Uni<PageDTO<T>> findPage(int page, int size, String sortBy, String sortDirection,
+                                         Function<Sort, PanacheQuery<AstronomyPicture>> source,
+                                         Uni<Long> totalElements,
+                                         Function<PanacheQuery<AstronomyPicture>, PanacheQuery<T>> projection) {
         LOGGER.infof("Fetching paginated data: page=%d, size=%d, sortBy=%s, sortDirection=%s", page, size, sortBy, sortDirection);
 
         String validSortField = validateSortField(sortBy);
         Sort.Direction direction = sortDirection.equalsIgnoreCase("asc") ? Sort.Direction.Ascending : Sort.Direction.Descending;
-        Sort sort = Sort.by(validSortField).direction(direction);
+        Sort sort = Sort.by(sortExpression(validSortField), direction).and("id", direction).disableEscaping();
 
         return Uni.combine().all().unis(
-                        count(),
-                        findAll(sort)
+                        totalElements,
+                        projection.apply(source.apply(sort))
                                 .page(Page.of(page, size))
                                 .list()
                 ).asTuple()
                 .map(tuple -> {
                     Long total = tuple.getItem1();
-                    var content = tuple.getItem2();
-                    int totalPages = (int) Math.ceil((double) total / size);
+                    List<T> content = tuple.getItem2();
+                    Pagination pagination = offsetPagination(page, size, total);
 
                     LOGGER.infof("Retrieved %d records, total elements=%d, total pages=%d",
-                            content.size(), total, totalPages);
+                            content.size(), total, pagination.getTotalPages());
+
+                    return new PageDTO<>(content, pagination);
+                });
+    }
+
+    static Pagination offsetPagination(int page, int size, long total) {
+        int totalPages = (int) Math.ceil((double) total / size);
+        return new Pagination(
+                page,
+                size,
+                total,
+                totalPages,
+                page == 0,
+                page >= totalPages - 1,
+                page < totalPages - 1,
+                page > 0,
+                null
+        );
+    }
+
+    private <T> Uni<PageDTO<T>> findKeysetPage(String cursor, int size, String sortBy, String sortDirection,
+                                               Function<PanacheQuery<AstronomyPicture>, PanacheQuery<T>> projection,
+                                               Function<T, Long> idOf,
+                                               BiFunction<T, String, String> sortValueOf) {
+        LOGGER.infof("Fetching keyset page: size=%d, sortBy=%s, sortDirection=%s", size, sortBy, sortDirection);
+
+        String validSortField = validateSortField(sortBy);
+        boolean ascending = sortDirection.equalsIgnoreCase("asc");
+        Sort.Direction direction = ascending ? Sort.Direction.Ascending : Sort.Direction.Descending;
+        Sort sort = Sort.by(sortExpression(validSortField), direction).and("id", direction).disableEscaping();
+
+        PageCursor after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+        if (after != null && (!after.getSortBy().equals(validSortField) || after.isAscending() != ascending)) {
+            throw new BadRequestException("Cursor does not match the requested sort");
+        }
+
+        // One extra row tells whether another page follows without counting
+        var query = after == null
+                ? findAll(sort)
+                : find(seekCondition(validSortField, ascending, after.getValue() == null), sort,
+                        seekParameters(validSortField, after));
+        int page = after == null ? 0 : after.getPage() + 1;
+
+        return Uni.combine().all().unis(
+                        counter.total(),
+                        projection.apply(query).range(0, size).list()
+                ).asTuple()
+                .map(tuple -> {
+                    long total = tuple.getItem1();
+                    List<T> rows = tuple.getItem2();
+                    boolean hasNext = rows.size() > size;
+                    List<T> content = hasNext ? rows.subList(0, size) : rows;
+                    int totalPages = (int) Math.ceil((double) total / size);
+
+                    String nextCursor = null;
+                    if (hasNext) {
+                        T last = content.get(content.size() - 1);
+                        nextCursor = new PageCursor(validSortField, ascending, page, idOf.apply(last),
+                                sortValueOf.apply(last, validSortField)).encode();
+                    }
+
+                    LOGGER.infof("Retrieved %d records for keyset page %d, hasNext=%s", content.size(), page, hasNext);
 
                     var pagination = new Pagination(
                             page,
                             size,
                             total,
                             totalPages,
-                            page == 0,
-                            page >= totalPages - 1,
-                            page < totalPages - 1,
-                            page > 0
+                            after == null,
+                            !hasNext,
+                            hasNext,
+                            after != null,
+                            nextCursor
                     );
 
                     return new PageDTO<>(content, pagination);
                 });
     }
 
+    // Row-value comparison matches the composite (sort key, id) indexes. PostgreSQL sorts nulls
+    // last ascending and first descending, so null keys need their own branch. Dates are unique
+    // and never null, so they need no id tiebreak
+    private String seekCondition(String sortField, boolean ascending, boolean afterNull) {
+        if (sortField.equals("date")) {
+            return ascending ? "date > ?1" : "date < ?1";
+        }
+        String key = sortExpression(sortField);
+        if (ascending) {
+            return afterNull
+                    ? sortField + " is null and id > ?1"
+                    : "(" + key + ", id) > (?1, ?2) or " + sortField + " is null";
+        }
+        return afterNull
+                ? sortField + " is not null or id < ?1"
+                : "(" + key + ", id) < (?1, ?2)";
+    }
+
+    // Text keys sort by code point under ucs_basic, whatever the database's default collation is,
+    // so pages agree with the snapshot's ordering. The (key, id) indexes are declared with it too
+    private String sortExpression(String sortField) {
+        return switch (sortField) {
+            case "title", "mediaType" -> "collate(" + sortField + " as ucs_basic)";
+            default -> sortField;
+        };
+    }
+
+    private Object[] seekParameters(String sortField, PageCursor after) {
+        if (sortField.equals("date")) {
+            return new Object[]{after.dateValue()};
+        }
+        if (after.getValue() == null) {
+            return new Object[]{after.getId()};
+        }
+        return new Object[]{after.getValue(), after.getId()};
+    }
+
+    private String sortValue(String sortField, LocalDate date, String title, String mediaType) {
+        return switch (sortField) {
+            case "title" -> title;
+            case "mediaType" -> mediaType;
+            default -> date.toString();
+        };
+    }
+
+    private Tuple toTuple(AstronomyPicture entity) {
+        return Tuple.tuple()
+                .addString(entity.getCopyright())
+                .addLocalDate(entity.getDate())
+                .addString(entity.getExplanation())
+                .addString(entity.getHdurl())
+                .addString(entity.getMediaType())
+                .addString(entity.getServiceVersion())
+                .addString(entity.getTitle())
+                .addString(entity.getUrl())
+                .addLocalDateTime(entity.getCreatedAt())
+                .addLocalDateTime(entity.getUpdatedAt());
+    }
+
+    // A batch with RETURNING yields one row set per tuple, chained in submission order.
+    // Unchanged rows return nothing, so their stored id and timestamps are looked up afterwards
+    private Uni<PersistResult> applyUpsertResults(SqlConnection connection, RowSet<Row> rowSet,
+                                                  List<AstronomyPicture> entities) {
+        int inserted = 0;
+        int updated = 0;
+        List<AstronomyPicture> unchanged = new ArrayList<>();
+
+        RowSet<Row> current = rowSet;
+        for (AstronomyPicture entity : entities) {
+            RowIterator<Row> iterator = current.iterator();
+            if (iterator.hasNext()) {
+                Row row = iterator.next();
+                applyStoredState(entity, row);
+                if (Boolean.TRUE.equals(row.getBoolean("inserted"))) {
+                    inserted++;
+                } else {
+                    updated++;
+                }
+            } else {
+                unchanged.add(entity);
+            }
+            current = current.next();
+        }
+
+        LOGGER.debugf("Upserted astronomy pictures: inserted=%d, updated=%d, unchanged=%d",
+                inserted, updated, unchanged.size());
+
+        PersistResult result = new PersistResult(entities, inserted, updated, unchanged.size());
+        if (unchanged.isEmpty()) {
+            return Uni.createFrom().item(result);
+        }
+
+        LocalDate[] dates = unchanged.stream().map(AstronomyPicture::getDate).toArray(LocalDate[]::new);
+        return connection.preparedQuery(FIND_BY_DATES_SQL).execute(Tuple.tuple().addArrayOfLocalDate(dates))
+                .map(stored -> {
+                    Map<LocalDate, Row> rowsByDate = new HashMap<>();
+                    stored.forEach(row -> rowsByDate.put(row.getLocalDate("date"), row));
+                    unchanged.forEach(entity -> applyStoredState(entity, rowsByDate.get(entity.getDate())));
+                    return result;
+                });
+    }
+
+    static AstronomyPicture toEntity(Row row) {
+        AstronomyPicture entity = new AstronomyPicture();
+        entity.setId(row.getLong("id"));
+        entity.setCopyright(row.getString("copyright"));
+        entity.setDate(row.getLocalDate("date"));
+        entity.setExplanation(row.getString("explanation"));
+        entity.setHdurl(row.getString("hdurl"));
+        entity.setMediaType(row.getString("media_type"));
+        entity.setServiceVersion(row.getString("service_version"));
+        entity.setTitle(row.getString("title"));
+        entity.setUrl(row.getString("url"));
+        entity.setCreatedAt(row.getLocalDateTime("created_at"));
+        entity.setUpdatedAt(row.getLocalDateTime("updated_at"));
+        return entity;
+    }
+
+    private void applyStoredState(AstronomyPicture entity, Row row) {
+        if (row == null) {
+            return;
+        }
+        entity.setId(row.getLong("id"));
+        entity.setCreatedAt(row.getLocalDateTime("created_at"));
+        entity.setUpdatedAt(row.getLocalDateTime("updated_at"));
+    }
+
     public String validateSortField(String sortBy) {
         LOGGER.debugf("Validating sort field: %s", sortBy);
         return switch (sortBy) {
@@ -0,0 +1,136 @@
+package dev.dwidi.repository;
+
+import dev.dwidi.dto.PageDTO;
+import dev.dwidi.dto.Pagination;
+import dev.dwidi.dto.SearchResultDTO;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text search over title and explanation. The tsvector column and its GIN index are not
+ * mapped on the entity, so ordinary reads never load them. They are created by db/search.sql,
+ * which is applied like any other schema change; startup only checks that the index exists.
+ */
+@ApplicationScoped
+public class AstronomyPictureSearchRepository {
+
+    private static final Logger LOGGER = Logger.getLogger(AstronomyPictureSearchRepository.class);
+
+    private static final String RANK_SORT = "rank";
+
+    private static final String SCHEMA_CHECK_SQL = "SELECT EXISTS (SELECT 1 FROM pg_indexes " +
+            "WHERE tablename = 'astronomy_picture' AND indexname = 'idx_astronomy_picture_search') AS ready";
+
+    // The innermost query ranks every match and counts them with a window function; the keyset
+    // filter and limit run next, so snippets are only built for the rows actually returned
+    private static final String SEARCH_SQL = "SELECT id, date, title, media_type, url, rank, total, " +
+            "ts_headline('english', coalesce(title, ''), query, 'HighlightAll=true, StartSel=<mark>, StopSel=</mark>') AS title_highlight, " +
+            "ts_headline('english', coalesce(explanation, ''), query, " +
+            "'MaxFragments=2, MaxWords=30, MinWords=10, StartSel=<mark>, StopSel=</mark>') AS snippet " +
+            "FROM (" +
+            "SELECT * FROM (" +
+            "SELECT id, date, title, media_type, url, explanation, query, " +
+            "ts_rank_cd(search_vector, query) AS rank, count(*) OVER () AS total " +
+            "FROM astronomy_picture, websearch_to_tsquery('english', $1) AS query " +
+            "WHERE search_vector @@ query" +
+            ") ranked " +
+            "WHERE $2::real IS NULL OR (rank, id) < ($2::real, $3::bigint) " +
+            "ORDER BY rank DESC, id DESC " +
+            "LIMIT $4" +
+            ") page " +
+            "ORDER BY rank DESC, id DESC";
+
+    @Inject
+    Pool pool;
+
+    void onStart(@Observes StartupEvent event) {
+        pool.query(SCHEMA_CHECK_SQL).execute()
+                .map(rowSet -> rowSet.iterator().next().getBoolean("ready"))
+                .subscribe().with(
+                        ready -> {
+                            if (!ready) {
+                                LOGGER.error("Full-text search index is missing, search fails until db/search.sql is applied");
+                            }
+                        },
+                        failure -> LOGGER.error("Failed to check for the full-text search index", failure)
+                );
+    }
+
+    /**
+     * Returns one page of matches ranked by relevance, with keyset pagination on (rank, id).
+     * A null cursor returns the first page.
+     */
+    public Uni<PageDTO<SearchResultDTO>> search(String query, String cursor, int size) {
+        PageCursor after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+        if (after != null && (!after.getSortBy().equals(RANK_SORT) || after.getValue() == null)) {
+            throw new BadRequestException("Cursor does not belong to a search");
+        }
+        int page = after == null ? 0 : after.getPage() + 1;
+
+        Tuple parameters = Tuple.tuple()
+                .addString(query)
+                .addValue(after == null ? null : after.floatValue())
+                .addValue(after == null ? null : after.getId())
+                .addInteger(size + 1);
+
+        return pool.preparedQuery(SEARCH_SQL).execute(parameters)
+                .map(rowSet -> {
+                    List<SearchResultDTO> rows = new ArrayList<>(rowSet.size());
+                    long total = 0;
+                    for (Row row : rowSet) {
+                        total = row.getLong("total");
+                        rows.add(toResult(row));
+                    }
+
+                    // One extra row tells whether another page follows
+                    boolean hasNext = rows.size() > size;
+                    List<SearchResultDTO> content = hasNext ? rows.subList(0, size) : rows;
+
+                    String nextCursor = null;
+                    if (hasNext) {
+                        SearchResultDTO last = content.get(content.size() - 1);
+                        nextCursor = new PageCursor(RANK_SORT, false, page, last.getId(),
+                                Float.toString(last.getRank())).encode();
+                    }
+
+                    LOGGER.debugf("Search for '%s' returned %d of %d matches on page %d", query, content.size(), total, page);
+
+                    var pagination = new Pagination(
+                            page,
+                            size,
+                            total,
+                            (int) Math.ceil((double) total / size),
+                            after == null,
+                            !hasNext,
+                            hasNext,
+                            after != null,
+                            nextCursor
+                    );
+                    return new PageDTO<>(content, pagination);
+                });
+    }
+
+    private SearchResultDTO toResult(Row row) {
+        return new SearchResultDTO(
+                row.getLong("id"),
+                row.getLocalDate("date"),
+                row.getString("title"),
+                row.getString("media_type"),
+                row.getString("url"),
+                row.getFloat("rank"),
+                row.getString("title_highlight"),
+                row.getString("snippet")
+        );
+    }
+}
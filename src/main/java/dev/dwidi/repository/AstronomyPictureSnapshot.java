@@ -0,0 +1,180 @@
+package dev.dwidi.repository;
+
+import dev.dwidi.dto.PageDTO;
+import dev.dwidi.dto.SnapshotStatsDTO;
+import dev.dwidi.entity.AstronomyPicture;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves listing pages and date lookups from an in-process {@link AstronomyPictureColumns} copy
+ * of the table. It is loaded once, patched with every committed write and reloaded periodically
+ * to pick up changes made outside this application. Until it is loaded, callers use the database.
+ */
+@ApplicationScoped
+public class AstronomyPictureSnapshot {
+
+    private static final Logger LOGGER = Logger.getLogger(AstronomyPictureSnapshot.class);
+
+    private static final String LOAD_SQL = "SELECT id, copyright, date, explanation, hdurl, media_type, " +
+            "service_version, title, url, created_at, updated_at FROM astronomy_picture ORDER BY date";
+
+    @Inject
+    Pool pool;
+
+    @ConfigProperty(name = "apod.snapshot.enabled", defaultValue = "true")
+    boolean enabled;
+
+    private volatile AstronomyPictureColumns columns;
+    private volatile Instant loadedAt;
+    private volatile Instant refreshedAt;
+
+    // Writes committed while a load is running are replayed on top of it; guarded by this
+    private List<AstronomyPicture> pendingWhileLoading;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong lookupNanos = new AtomicLong();
+
+    void onStart(@Observes StartupEvent event) {
+        if (enabled) {
+            reload().subscribe().with(ignored -> { }, failure -> { });
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && columns != null;
+    }
+
+    /**
+     * Reads the whole table into a fresh snapshot. Only one load at a time tracks writes to
+     * replay, so reloads must not overlap.
+     */
+    public Uni<Void> reload() {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        synchronized (this) {
+            pendingWhileLoading = new ArrayList<>();
+        }
+        long started = System.nanoTime();
+
+        return pool.query(LOAD_SQL).execute()
+                .map(rowSet -> {
+                    List<AstronomyPicture> entities = new ArrayList<>(rowSet.size());
+                    rowSet.forEach(row -> entities.add(AstronomyPictureRepository.toEntity(row)));
+                    return AstronomyPictureColumns.empty().merge(entities);
+                })
+                .invoke(loaded -> {
+                    synchronized (this) {
+                        columns = pendingWhileLoading.isEmpty() ? loaded : loaded.merge(pendingWhileLoading);
+                        pendingWhileLoading = null;
+                    }
+                    loadedAt = Instant.now();
+                    LOGGER.infof("Loaded APOD snapshot: rows=%d, estimatedBytes=%d in %d ms",
+                            columns.size, columns.estimatedBytes, (System.nanoTime() - started) / 1_000_000);
+                })
+                .onFailure().invoke(throwable -> {
+                    synchronized (this) {
+                        pendingWhileLoading = null;
+                    }
+                    LOGGER.error("Failed to load APOD snapshot, reads keep using the database", throwable);
+                })
+                .replaceWithVoid();
+    }
+
+    /**
+     * Applies rows of a committed write. The entities must carry their stored id.
+     */
+    public void apply(List<AstronomyPicture> entities) {
+        if (!enabled || entities.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (pendingWhileLoading != null) {
+                pendingWhileLoading.addAll(entities);
+            }
+            if (columns != null) {
+                columns = columns.merge(entities);
+                refreshedAt = Instant.now();
+            }
+        }
+    }
+
+    public PageDTO<AstronomyPicture> page(int page, int size, String sortField, boolean ascending) {
+        long started = System.nanoTime();
+        AstronomyPictureColumns current = columns;
+
+        List<AstronomyPicture> content = new ArrayList<>(size);
+        long first = (long) page * size;
+        for (long rank = first; rank < Math.min(current.size, first + size); rank++) {
+            content.add(current.materialize(current.positionAt(sortField, ascending, (int) rank)));
+        }
+
+        recordLookup(started);
+        return new PageDTO<>(content, AstronomyPictureRepository.offsetPagination(page, size, current.size));
+    }
+
+    public List<AstronomyPicture> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        long started = System.nanoTime();
+        AstronomyPictureColumns current = columns;
+
+        List<AstronomyPicture> entities = new ArrayList<>();
+        int end = current.lowerBound(endDate.plusDays(1));
+        for (int position = current.lowerBound(startDate); position < end; position++) {
+            entities.add(current.materialize(position));
+        }
+
+        recordLookup(started);
+        return entities;
+    }
+
+    public List<AstronomyPicture> findByDates(List<LocalDate> dates) {
+        long started = System.nanoTime();
+        AstronomyPictureColumns current = columns;
+
+        List<AstronomyPicture> entities = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            int position = current.lowerBound(date);
+            if (position < current.size && current.epochDays[position] == date.toEpochDay()) {
+                entities.add(current.materialize(position));
+            }
+        }
+
+        recordLookup(started);
+        return entities;
+    }
+
+    public SnapshotStatsDTO getStats() {
+        AstronomyPictureColumns current = columns;
+        long lookupCount = lookups.get();
+        return new SnapshotStatsDTO(
+                isReady(),
+                current == null ? 0 : current.size,
+                current == null ? 0 : current.estimatedBytes,
+                current == null ? 0 : current.mediaTypeDictionary.length,
+                current == null ? 0 : current.copyrightDictionary.length,
+                current == null ? 0 : current.serviceVersionDictionary.length,
+                lookupCount,
+                lookupCount == 0 ? 0 : lookupNanos.get() / 1_000.0 / lookupCount,
+                loadedAt,
+                refreshedAt
+        );
+    }
+
+    private void recordLookup(long started) {
+        lookups.incrementAndGet();
+        lookupNanos.addAndGet(System.nanoTime() - started);
+    }
+}
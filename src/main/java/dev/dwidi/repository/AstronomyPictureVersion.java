@@ -0,0 +1,116 @@
+package dev.dwidi.repository;
+
+import dev.dwidi.entity.AstronomyPicture;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Version of the astronomy_picture table as its row count and latest updated_at, kept in memory
+ * so HTTP validators cost nothing to compute. Every write sets updated_at, so any change moves
+ * the version. Committed writes advance it directly and a periodic refresh picks up changes made
+ * outside this application. It is the same on every instance reading the same table.
+ */
+@ApplicationScoped
+public class AstronomyPictureVersion {
+
+    private static final Logger LOGGER = Logger.getLogger(AstronomyPictureVersion.class);
+
+    private static final String LOAD_SQL =
+            "SELECT count(*) AS row_count, max(updated_at) AS last_updated FROM astronomy_picture";
+
+    @Inject
+    Pool pool;
+
+    // Null until the first load; replaced under this so refreshes and writes do not lose each other
+    private volatile Stamp current;
+
+    void onStart(@Observes StartupEvent event) {
+        refresh().subscribe().with(ignored -> { }, failure -> { });
+    }
+
+    /**
+     * The current version, or null while it is not known yet.
+     */
+    public Stamp current() {
+        return current;
+    }
+
+    public Uni<Void> refresh() {
+        return pool.query(LOAD_SQL).execute()
+                .invoke(rowSet -> {
+                    Row row = rowSet.iterator().next();
+                    Instant lastUpdated = toInstant(row.getLocalDateTime("last_updated"));
+                    synchronized (this) {
+                        Stamp previous = current;
+                        // A write committed while the query ran may be newer than what it saw
+                        Instant lastModified = previous == null ? lastUpdated : latest(previous.lastModified, lastUpdated);
+                        current = new Stamp(row.getLong("row_count"), lastModified);
+                        if (previous != null && !previous.tag().equals(current.tag())) {
+                            LOGGER.debugf("Astronomy picture version moved from %s to %s", previous.tag(), current.tag());
+                        }
+                    }
+                })
+                .onFailure().invoke(throwable -> LOGGER.error("Failed to load the astronomy picture version", throwable))
+                .replaceWithVoid();
+    }
+
+    /**
+     * Advances the version past a committed write. The entities must carry their stored updated_at.
+     */
+    public void committed(PersistResult result) {
+        if (result.getWritten() == 0) {
+            return;
+        }
+        Instant lastUpdated = toInstant(result.getEntities().stream()
+                .map(AstronomyPicture::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null));
+
+        synchronized (this) {
+            Stamp previous = current;
+            if (previous != null) {
+                current = new Stamp(previous.rows + result.getInserted(), latest(previous.lastModified, lastUpdated));
+            }
+        }
+    }
+
+    private static Instant toInstant(LocalDateTime timestamp) {
+        // updated_at is written from LocalDateTime.now(), i.e. in the JVM's zone
+        return timestamp == null ? null : timestamp.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static Instant latest(Instant first, Instant second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Stamp {
+        private final long rows;
+        private final Instant lastModified;
+
+        public String tag() {
+            long micros = lastModified == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, lastModified);
+            return Long.toHexString(rows) + "-" + Long.toHexString(micros);
+        }
+    }
+}
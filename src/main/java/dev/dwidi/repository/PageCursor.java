@@ -0,0 +1,83 @@
+package dev.dwidi.repository;
+
+import jakarta.ws.rs.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort key and id of the last row of a page, plus the sort it
+ * belongs to so a cursor cannot be replayed against a different ordering.
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "~";
+
+    private final String sortBy;
+    private final boolean ascending;
+    private final int page;
+    private final long id;
+    private final String value;
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                sortBy,
+                ascending ? "asc" : "desc",
+                String.valueOf(page),
+                String.valueOf(id),
+                value == null ? NULL_VALUE : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The sort key of a cursor over a date ordering. Cursors come from clients, so a value that
+     * is not a date is a bad request rather than a server error.
+     */
+    public LocalDate dateValue() {
+        if (value == null) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * The sort key of a cursor over a numeric ordering, such as search rank.
+     */
+    public float floatValue() {
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The value goes last and is not split further, so it may contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 5);
+            if (parts.length != 5 || !(parts[4].equals(NULL_VALUE) || parts[4].startsWith("="))) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new PageCursor(
+                    parts[0],
+                    parts[1].equals("asc"),
+                    Integer.parseInt(parts[2]),
+                    Long.parseLong(parts[3]),
+                    parts[4].equals(NULL_VALUE) ? null : parts[4].substring(1)
+            );
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dev.dwidi.repository;
+
+import dev.dwidi.entity.AstronomyPicture;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class PersistResult {
+    private final List<AstronomyPicture> entities;
+    private final int inserted;
+    private final int updated;
+    private final int unchanged;
+
+    public int getWritten() {
+        return inserted + updated;
+    }
+}
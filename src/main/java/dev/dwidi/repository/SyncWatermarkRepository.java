@@ -0,0 +1,47 @@
+package dev.dwidi.repository;
+
+import dev.dwidi.entity.SyncWatermark;
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@ApplicationScoped
+public class SyncWatermarkRepository implements PanacheRepositoryBase<SyncWatermark, String> {
+
+    private static final Logger LOGGER = Logger.getLogger(SyncWatermarkRepository.class);
+
+    private static final String FIND_SQL = "SELECT watermark FROM sync_watermark WHERE name = $1";
+
+    // GREATEST keeps the watermark monotonic even if two syncs ever overlap
+    private static final String ADVANCE_SQL = "INSERT INTO sync_watermark (name, watermark, updated_at) " +
+            "VALUES ($1, $2, $3) ON CONFLICT (name) DO UPDATE SET " +
+            "watermark = GREATEST(sync_watermark.watermark, EXCLUDED.watermark), updated_at = EXCLUDED.updated_at";
+
+    @Inject
+    Pool pool;
+
+    public Uni<LocalDate> findWatermark(String name) {
+        return pool.preparedQuery(FIND_SQL).execute(Tuple.of(name))
+                .map(rowSet -> {
+                    RowIterator<Row> iterator = rowSet.iterator();
+                    return iterator.hasNext() ? iterator.next().getLocalDate("watermark") : null;
+                });
+    }
+
+    public Uni<Void> advance(SqlConnection connection, String name, LocalDate watermark) {
+        LOGGER.debugf("Advancing watermark %s to %s", name, watermark);
+        return connection.preparedQuery(ADVANCE_SQL)
+                .execute(Tuple.of(name, watermark, LocalDateTime.now()))
+                .replaceWithVoid();
+    }
+}
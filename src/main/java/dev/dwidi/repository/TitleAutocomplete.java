@@ -0,0 +1,278 @@
+package dev.dwidi.repository;
+
+import dev.dwidi.dto.AutocompleteStatsDTO;
+import dev.dwidi.dto.TitleSuggestionDTO;
+import dev.dwidi.entity.AstronomyPicture;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Title suggestions from an in-process {@link TitleIndex}, loaded at startup. Committed writes go
+ * into a small overlay of recent titles that lookups check next to the index, so a commit only
+ * costs its own titles. Once the overlay holds {@link #MERGE_THRESHOLD} titles it is merged into a
+ * new index on a worker thread. Until the index is loaded, suggestions fall back to a database
+ * query.
+ */
+@ApplicationScoped
+public class TitleAutocomplete {
+
+    private static final Logger LOGGER = Logger.getLogger(TitleAutocomplete.class);
+
+    private static final int MERGE_THRESHOLD = 1024;
+
+    private static final String LOAD_SQL = "SELECT date, title FROM astronomy_picture WHERE title IS NOT NULL";
+
+    private static final String FALLBACK_SQL = "SELECT date, title FROM astronomy_picture " +
+            "WHERE title ILIKE $1 ESCAPE '\\' ORDER BY date DESC LIMIT $2";
+
+    @Inject
+    Pool pool;
+
+    @Inject
+    Vertx vertx;
+
+    // Replaced as a whole so lookups always see an index and the overlay that belongs to it
+    private volatile Layers layers;
+
+    // Writes committed while the index is loading are replayed on top of it; guarded by this
+    private Map<LocalDate, String> pendingWhileLoading;
+
+    // Guarded by this
+    private boolean merging;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong lookupNanos = new AtomicLong();
+    private final AtomicLong merges = new AtomicLong();
+
+    void onStart(@Observes StartupEvent event) {
+        load().subscribe().with(ignored -> { }, failure -> { });
+    }
+
+    public Uni<Void> load() {
+        synchronized (this) {
+            pendingWhileLoading = new HashMap<>();
+        }
+        long started = System.nanoTime();
+
+        return pool.query(LOAD_SQL).execute()
+                .map(rowSet -> {
+                    Map<LocalDate, String> titles = new HashMap<>(rowSet.size() * 4 / 3 + 1);
+                    rowSet.forEach(row -> titles.put(row.getLocalDate("date"), row.getString("title")));
+                    return titles;
+                })
+                .chain(titles -> vertx.executeBlocking(() -> TitleIndex.of(titles)))
+                .invoke(loaded -> {
+                    synchronized (this) {
+                        layers = new Layers(loaded, Layers.overlay(new TreeMap<>(), pendingWhileLoading));
+                        pendingWhileLoading = null;
+                    }
+                    LOGGER.infof("Loaded title index: titles=%d, trigrams=%d, estimatedBytes=%d in %d ms",
+                            loaded.size(), loaded.trigramCount(), loaded.estimatedBytes(),
+                            (System.nanoTime() - started) / 1_000_000);
+                    mergeIfNeeded();
+                })
+                .onFailure().invoke(throwable -> {
+                    synchronized (this) {
+                        pendingWhileLoading = null;
+                    }
+                    LOGGER.error("Failed to load title index, suggestions keep using the database", throwable);
+                })
+                .replaceWithVoid();
+    }
+
+    public void apply(List<AstronomyPicture> entities) {
+        Map<LocalDate, String> changes = new HashMap<>();
+        entities.forEach(entity -> {
+            if (entity.getDate() != null && entity.getTitle() != null) {
+                changes.put(entity.getDate(), entity.getTitle());
+            }
+        });
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (pendingWhileLoading != null) {
+                pendingWhileLoading.putAll(changes);
+            }
+            if (layers != null) {
+                layers = new Layers(layers.index, Layers.overlay(layers.recent, changes));
+            }
+        }
+        mergeIfNeeded();
+    }
+
+    public Uni<List<TitleSuggestionDTO>> suggest(String query, int limit) {
+        Layers current = layers;
+        if (current == null) {
+            return suggestFromDatabase(query, limit);
+        }
+
+        long started = System.nanoTime();
+        List<TitleSuggestionDTO> suggestions = current.suggest(query, limit);
+        lookups.incrementAndGet();
+        lookupNanos.addAndGet(System.nanoTime() - started);
+        return Uni.createFrom().item(suggestions);
+    }
+
+    public AutocompleteStatsDTO getStats() {
+        Layers current = layers;
+        long lookupCount = lookups.get();
+        return new AutocompleteStatsDTO(
+                current != null,
+                current == null ? 0 : current.size(),
+                current == null ? 0 : current.index.trigramCount(),
+                current == null ? 0 : current.index.estimatedBytes(),
+                current == null ? 0 : current.recent.size(),
+                merges.get(),
+                lookupCount,
+                lookupCount == 0 ? 0 : lookupNanos.get() / 1_000.0 / lookupCount
+        );
+    }
+
+    // Rebuilds the index with the overlay on a worker thread, off the event loop that commits
+    // writes. Titles committed while it runs stay in the overlay of the new index.
+    private void mergeIfNeeded() {
+        Layers current;
+        synchronized (this) {
+            current = layers;
+            if (merging || current == null || current.recent.size() < MERGE_THRESHOLD) {
+                return;
+            }
+            merging = true;
+        }
+        Map<LocalDate, String> titles = new HashMap<>(current.recent.size() * 4 / 3 + 1);
+        current.recent.forEach((date, recent) -> titles.put(date, recent.title));
+        long started = System.nanoTime();
+
+        vertx.executeBlocking(() -> current.index.with(titles))
+                .subscribe().with(merged -> {
+                    synchronized (this) {
+                        merging = false;
+                        // A reload replaced the index while this merge ran
+                        if (layers.index != current.index) {
+                            return;
+                        }
+                        TreeMap<LocalDate, RecentTitle> remaining = new TreeMap<>(layers.recent);
+                        current.recent.forEach(remaining::remove);
+                        layers = new Layers(merged, remaining);
+                    }
+                    merges.incrementAndGet();
+                    LOGGER.debugf("Merged %d recent titles into the title index in %d ms",
+                            titles.size(), (System.nanoTime() - started) / 1_000_000);
+                    mergeIfNeeded();
+                }, failure -> {
+                    synchronized (this) {
+                        merging = false;
+                    }
+                    LOGGER.error("Failed to merge recent titles into the title index", failure);
+                });
+    }
+
+    private Uni<List<TitleSuggestionDTO>> suggestFromDatabase(String query, int limit) {
+        String pattern = "%" + query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return pool.preparedQuery(FALLBACK_SQL).execute(Tuple.of(pattern, limit))
+                .map(rowSet -> {
+                    List<TitleSuggestionDTO> suggestions = new ArrayList<>(rowSet.size());
+                    rowSet.forEach(row -> suggestions.add(new TitleSuggestionDTO(row.getLocalDate("date"), row.getString("title"))));
+                    return suggestions;
+                });
+    }
+
+    private static final class RecentTitle {
+        private final String title;
+        private final String normalized;
+
+        private RecentTitle(String title) {
+            this.title = title;
+            this.normalized = TitleIndex.normalize(title);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RecentTitle recent && title.equals(recent.title);
+        }
+
+        @Override
+        public int hashCode() {
+            return title.hashCode();
+        }
+    }
+
+    // An index and the titles committed since it was built, which replace the index's by date
+    private static final class Layers {
+        private final TitleIndex index;
+        private final TreeMap<LocalDate, RecentTitle> recent;
+
+        private Layers(TitleIndex index, TreeMap<LocalDate, RecentTitle> recent) {
+            this.index = index;
+            this.recent = recent;
+        }
+
+        // Copies the overlay, which only ever holds up to a merge threshold of small entries
+        private static TreeMap<LocalDate, RecentTitle> overlay(TreeMap<LocalDate, RecentTitle> recent, Map<LocalDate, String> changes) {
+            TreeMap<LocalDate, RecentTitle> updated = new TreeMap<>(recent);
+            changes.forEach((date, title) -> updated.put(date, new RecentTitle(title)));
+            return updated;
+        }
+
+        private List<TitleSuggestionDTO> suggest(String query, int limit) {
+            if (recent.isEmpty()) {
+                return index.suggest(query, limit);
+            }
+            List<TitleSuggestionDTO> fromIndex = index.suggest(query, limit, recent::containsKey);
+
+            String needle = TitleIndex.normalize(query).trim();
+            List<TitleSuggestionDTO> fromRecent = new ArrayList<>();
+            if (!needle.isEmpty()) {
+                for (Map.Entry<LocalDate, RecentTitle> entry : recent.descendingMap().entrySet()) {
+                    if (fromRecent.size() >= limit) {
+                        break;
+                    }
+                    if (TitleIndex.matches(entry.getValue().normalized, needle)) {
+                        fromRecent.add(new TitleSuggestionDTO(entry.getKey(), entry.getValue().title));
+                    }
+                }
+            }
+
+            // Both lists are most recent first and share no date
+            List<TitleSuggestionDTO> merged = new ArrayList<>(Math.max(limit, 0));
+            int i = 0;
+            int j = 0;
+            while (merged.size() < limit && (i < fromIndex.size() || j < fromRecent.size())) {
+                if (j == fromRecent.size() || (i < fromIndex.size()
+                        && fromIndex.get(i).getDate().isAfter(fromRecent.get(j).getDate()))) {
+                    merged.add(fromIndex.get(i++));
+                } else {
+                    merged.add(fromRecent.get(j++));
+                }
+            }
+            return merged;
+        }
+
+        private int size() {
+            int added = 0;
+            for (LocalDate date : recent.keySet()) {
+                if (!index.contains(date)) {
+                    added++;
+                }
+            }
+            return index.size() + added;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package dev.dwidi.repository;
+
+import dev.dwidi.dto.TitleSuggestionDTO;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable trigram index over APOD titles, one title per date. Titles are numbered from the
+ * most recent date, so every posting list is already in recency order and a lookup can stop as
+ * soon as it has enough matches.
+ */
+public final class TitleIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // Map node, boxed key and posting array header, per distinct trigram
+    private static final int TRIGRAM_OVERHEAD_BYTES = 64;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final LocalDate[] dates;
+    private final String[] titles;
+    private final String[] normalized;
+    private final Map<Long, int[]> postings;
+
+    private TitleIndex(TreeMap<LocalDate, String> titlesByDate) {
+        int size = titlesByDate.size();
+        dates = new LocalDate[size];
+        titles = new String[size];
+        normalized = new String[size];
+
+        int ordinal = 0;
+        for (Map.Entry<LocalDate, String> entry : titlesByDate.descendingMap().entrySet()) {
+            dates[ordinal] = entry.getKey();
+            titles[ordinal] = entry.getValue();
+            normalized[ordinal] = normalize(entry.getValue());
+            ordinal++;
+        }
+
+        postings = buildPostings();
+    }
+
+    public static TitleIndex of(Map<LocalDate, String> titlesByDate) {
+        TreeMap<LocalDate, String> sorted = new TreeMap<>();
+        titlesByDate.forEach((date, title) -> {
+            if (date != null && title != null) {
+                sorted.put(date, title);
+            }
+        });
+        return new TitleIndex(sorted);
+    }
+
+    /**
+     * Returns a new index with the given titles added or replaced by date.
+     */
+    public TitleIndex with(Map<LocalDate, String> changes) {
+        TreeMap<LocalDate, String> merged = new TreeMap<>();
+        for (int ordinal = 0; ordinal < dates.length; ordinal++) {
+            merged.put(dates[ordinal], titles[ordinal]);
+        }
+        changes.forEach((date, title) -> {
+            if (date != null && title != null) {
+                merged.put(date, title);
+            }
+        });
+        return new TitleIndex(merged);
+    }
+
+    /**
+     * Most recent titles containing the query, ignoring case and accents. Queries shorter than
+     * a trigram match the start of any word instead.
+     */
+    public List<TitleSuggestionDTO> suggest(String query, int limit) {
+        return suggest(query, limit, date -> false);
+    }
+
+    /**
+     * Same as {@link #suggest(String, int)}, leaving out titles whose date is skipped.
+     */
+    public List<TitleSuggestionDTO> suggest(String query, int limit, Predicate<LocalDate> skip) {
+        String needle = normalize(query).trim();
+        List<TitleSuggestionDTO> matches = new ArrayList<>(limit);
+        if (needle.isEmpty() || limit <= 0) {
+            return matches;
+        }
+
+        if (needle.length() < 3) {
+            for (int ordinal = 0; ordinal < normalized.length && matches.size() < limit; ordinal++) {
+                if (startsWord(normalized[ordinal], needle) && !skip.test(dates[ordinal])) {
+                    matches.add(new TitleSuggestionDTO(dates[ordinal], titles[ordinal]));
+                }
+            }
+            return matches;
+        }
+
+        // Candidates come from the rarest trigram; a substring check confirms each one
+        int[] candidates = null;
+        for (long trigram : trigrams(needle)) {
+            int[] list = postings.get(trigram);
+            if (list == null) {
+                return matches;
+            }
+            if (candidates == null || list.length < candidates.length) {
+                candidates = list;
+            }
+        }
+        for (int ordinal : candidates) {
+            if (normalized[ordinal].contains(needle) && !skip.test(dates[ordinal])) {
+                matches.add(new TitleSuggestionDTO(dates[ordinal], titles[ordinal]));
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    public boolean contains(LocalDate date) {
+        return Arrays.binarySearch(dates, date, Comparator.reverseOrder()) >= 0;
+    }
+
+    public int size() {
+        return titles.length;
+    }
+
+    public int trigramCount() {
+        return postings.size();
+    }
+
+    public long estimatedBytes() {
+        // Date and three string references per title
+        long bytes = (long) titles.length * Integer.BYTES * 4;
+        for (int ordinal = 0; ordinal < titles.length; ordinal++) {
+            bytes += STRING_OVERHEAD_BYTES + titles[ordinal].length();
+            if (normalized[ordinal] != titles[ordinal]) {
+                bytes += STRING_OVERHEAD_BYTES + normalized[ordinal].length();
+            }
+        }
+        for (int[] list : postings.values()) {
+            bytes += TRIGRAM_OVERHEAD_BYTES + (long) list.length * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    private Map<Long, int[]> buildPostings() {
+        Map<Long, Postings> lists = new HashMap<>();
+        for (int ordinal = 0; ordinal < normalized.length; ordinal++) {
+            for (long trigram : trigrams(normalized[ordinal])) {
+                lists.computeIfAbsent(trigram, ignored -> new Postings()).add(ordinal);
+            }
+        }
+
+        // Ordinals were added in ascending order, so each list is already sorted by recency
+        Map<Long, int[]> built = new HashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((trigram, list) -> built.put(trigram, list.toArray()));
+        return built;
+    }
+
+    // Distinct trigrams of a string, packed three chars to a long
+    private static long[] trigrams(String value) {
+        if (value.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[value.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    // Whether a normalized title matches a normalized query the way suggest() matches it
+    static boolean matches(String title, String needle) {
+        return needle.length() < 3 ? startsWord(title, needle) : title.contains(needle);
+    }
+
+    private static boolean startsWord(String title, String prefix) {
+        int from = 0;
+        while ((from = title.indexOf(prefix, from)) >= 0) {
+            if (from == 0 || !Character.isLetterOrDigit(title.charAt(from - 1))) {
+                return true;
+            }
+            from++;
+        }
+        return false;
+    }
+
+    static String normalize(String value) {
+        String lowered = value.toLowerCase(Locale.ROOT);
+        String decomposed = Normalizer.normalize(lowered, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        // Share the title's string when normalization changed nothing
+        return stripped.equals(value) ? value : stripped;
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[8];
+        private int size;
+
+        private void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(ordinals, size);
+        }
+    }
+}
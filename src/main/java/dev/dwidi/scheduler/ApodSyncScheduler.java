@@ -0,0 +1,31 @@
+package dev.dwidi.scheduler;
+
+import dev.dwidi.service.NasaApodService;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class ApodSyncScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(ApodSyncScheduler.class);
+
+    @Inject
+    NasaApodService nasaApodService;
+
+    // Set nasa.sync.every=off to disable the job
+    @Scheduled(
+            identity = "apod-incremental-sync",
+            every = "{nasa.sync.every}",
+            delayed = "{nasa.sync.initial-delay}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    Uni<Void> syncToToday() {
+        return nasaApodService.syncToToday()
+                .invoke(response -> LOGGER.infof("Scheduled APOD sync finished with status %d: %s",
+                        response.getStatusCode(), response.getMessage()))
+                .replaceWithVoid();
+    }
+}
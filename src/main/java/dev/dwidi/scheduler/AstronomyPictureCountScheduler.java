@@ -0,0 +1,23 @@
+package dev.dwidi.scheduler;
+
+import dev.dwidi.repository.AstronomyPictureCounter;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class AstronomyPictureCountScheduler {
+
+    @Inject
+    AstronomyPictureCounter counter;
+
+    @Scheduled(
+            identity = "astronomy-picture-count-reconcile",
+            every = "{apod.count.reconcile-every}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    Uni<Void> reconcile() {
+        return counter.reconcile().replaceWithVoid();
+    }
+}
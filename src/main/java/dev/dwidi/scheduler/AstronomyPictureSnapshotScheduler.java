@@ -0,0 +1,24 @@
+package dev.dwidi.scheduler;
+
+import dev.dwidi.repository.AstronomyPictureSnapshot;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class AstronomyPictureSnapshotScheduler {
+
+    @Inject
+    AstronomyPictureSnapshot snapshot;
+
+    @Scheduled(
+            identity = "astronomy-picture-snapshot-reload",
+            every = "{apod.snapshot.reload-every}",
+            delayed = "{apod.snapshot.reload-every}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    Uni<Void> reload() {
+        return snapshot.reload();
+    }
+}
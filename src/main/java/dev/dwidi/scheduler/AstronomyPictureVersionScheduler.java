@@ -0,0 +1,24 @@
+package dev.dwidi.scheduler;
+
+import dev.dwidi.repository.AstronomyPictureVersion;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class AstronomyPictureVersionScheduler {
+
+    @Inject
+    AstronomyPictureVersion version;
+
+    @Scheduled(
+            identity = "astronomy-picture-version-refresh",
+            every = "{apod.version.refresh-every}",
+            delayed = "{apod.version.refresh-every}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    Uni<Void> refresh() {
+        return version.refresh();
+    }
+}
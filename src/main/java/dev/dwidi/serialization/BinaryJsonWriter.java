@@ -0,0 +1,66 @@
+package dev.dwidi.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Writes responses as CBOR or Smile for clients that ask for them in Accept. Both mappers are
+ * copies of the application's ObjectMapper, so they carry the same modules and settings and
+ * produce the same document as the JSON body, only in a binary encoding.
+ */
+@Provider
+@Produces({BinaryJsonWriter.APPLICATION_CBOR, BinaryJsonWriter.APPLICATION_SMILE})
+public class BinaryJsonWriter implements MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    private static final MediaType CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+    private static final MediaType SMILE_TYPE = MediaType.valueOf(APPLICATION_SMILE);
+
+    private final ObjectMapper cbor;
+    private final ObjectMapper smile;
+
+    @Inject
+    public BinaryJsonWriter(ObjectMapper mapper) {
+        cbor = mapper.copyWith(new CBORFactory());
+        smile = mapper.copyWith(new SmileFactory());
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return mapperFor(mediaType) != null;
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        // Encoded in full first, so a failure can still become an error response
+        entityStream.write(mapperFor(mediaType).writeValueAsBytes(value));
+    }
+
+    private ObjectMapper mapperFor(MediaType mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        if (mediaType.isCompatible(CBOR_TYPE) && !mediaType.isWildcardSubtype()) {
+            return cbor;
+        }
+        if (mediaType.isCompatible(SMILE_TYPE) && !mediaType.isWildcardSubtype()) {
+            return smile;
+        }
+        return null;
+    }
+}
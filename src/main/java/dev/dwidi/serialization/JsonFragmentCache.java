@@ -0,0 +1,81 @@
+package dev.dwidi.serialization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.JsonFragmentStatsDTO;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Encoded JSON of stored APOD records, one per date. A record is only reused while its
+ * updated_at matches, and every write that changes a row sets updated_at, so an entry can never
+ * serve outdated content. Bounded by the encoded size of its entries.
+ */
+public class JsonFragmentCache {
+
+    // Map node, entry object, timestamp and byte array header
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final long maxBytes;
+    private final Cache<LocalDate, Entry> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JsonFragmentCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((LocalDate date, Entry entry) -> ENTRY_OVERHEAD_BYTES + entry.fragment.byteLength())
+                .recordStats()
+                .build();
+    }
+
+    interface Encoder {
+        byte[] encode(AstronomyPictureResponseDTO record) throws IOException;
+    }
+
+    RawJsonFragment fragment(AstronomyPictureResponseDTO record, Encoder encoder) throws IOException {
+        Entry entry = cache.getIfPresent(record.getDate());
+        if (entry != null && entry.updatedAt.equals(record.getUpdatedAt())) {
+            hits.increment();
+            return entry.fragment;
+        }
+
+        misses.increment();
+        RawJsonFragment fragment = new RawJsonFragment(encoder.encode(record));
+        cache.put(record.getDate(), new Entry(record.getUpdatedAt(), fragment));
+        return fragment;
+    }
+
+    public JsonFragmentStatsDTO getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long weightedSize = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new JsonFragmentStatsDTO(
+                hitCount,
+                missCount,
+                hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount),
+                cache.stats().evictionCount(),
+                cache.estimatedSize(),
+                weightedSize,
+                maxBytes
+        );
+    }
+
+    private static final class Entry {
+        private final LocalDateTime updatedAt;
+        private final RawJsonFragment fragment;
+
+        private Entry(LocalDateTime updatedAt, RawJsonFragment fragment) {
+            this.updatedAt = updatedAt;
+            this.fragment = fragment;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dev.dwidi.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dwidi.dto.JsonFragmentStatsDTO;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Registers {@link PreEncodedJsonModule} on the application's ObjectMapper. Fragments are encoded
+ * with that mapper's own factory and serializers, so they match what it would write itself.
+ */
+@Singleton
+public class PreEncodedJsonCustomizer implements ObjectMapperCustomizer {
+
+    @ConfigProperty(name = "apod.json-fragments.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "apod.json-fragments.max-bytes", defaultValue = "33554432")
+    long maxBytes;
+
+    private JsonFragmentCache cache;
+
+    @PostConstruct
+    void init() {
+        cache = new JsonFragmentCache(maxBytes);
+    }
+
+    @Override
+    public void customize(ObjectMapper mapper) {
+        if (enabled) {
+            mapper.registerModule(new PreEncodedJsonModule(mapper.getFactory(), cache));
+        }
+    }
+
+    public JsonFragmentStatsDTO getStats() {
+        return cache.getStats();
+    }
+}
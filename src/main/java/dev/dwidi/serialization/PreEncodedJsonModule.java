@@ -0,0 +1,31 @@
+package dev.dwidi.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import dev.dwidi.dto.AstronomyPictureResponseDTO;
+
+/**
+ * Serializes {@link AstronomyPictureResponseDTO} from {@link JsonFragmentCache}, so list
+ * responses are stitched together from cached bytes instead of encoding every record again.
+ */
+public class PreEncodedJsonModule extends SimpleModule {
+
+    public PreEncodedJsonModule(JsonFactory factory, JsonFragmentCache cache) {
+        super(PreEncodedJsonModule.class.getSimpleName());
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+                if (beanDesc.getBeanClass() != AstronomyPictureResponseDTO.class) {
+                    return serializer;
+                }
+                return new PreEncodedResponseSerializer((JsonSerializer<Object>) serializer, factory, cache);
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package dev.dwidi.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import dev.dwidi.dto.AstronomyPictureResponseDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes a stored record as its cached JSON bytes, encoding it with the regular bean serializer
+ * on the first use only. Other generators, e.g. binary formats, and records that were never
+ * stored get the regular serializer.
+ */
+final class PreEncodedResponseSerializer extends StdSerializer<AstronomyPictureResponseDTO>
+        implements ContextualSerializer, ResolvableSerializer {
+
+    private final JsonSerializer<Object> delegate;
+    private final JsonFactory factory;
+    private final JsonFragmentCache cache;
+
+    PreEncodedResponseSerializer(JsonSerializer<Object> delegate, JsonFactory factory, JsonFragmentCache cache) {
+        super(AstronomyPictureResponseDTO.class);
+        this.delegate = delegate;
+        this.factory = factory;
+        this.cache = cache;
+    }
+
+    @Override
+    public void serialize(AstronomyPictureResponseDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!(gen instanceof UTF8JsonGenerator) || value.getDate() == null || value.getUpdatedAt() == null) {
+            delegate.serialize(value, gen, provider);
+            return;
+        }
+        gen.writeRawValue(cache.fragment(value, record -> encode(record, provider)));
+    }
+
+    private byte[] encode(AstronomyPictureResponseDTO value, SerializerProvider provider) throws IOException {
+        try (ByteArrayBuilder buffer = new ByteArrayBuilder(1024)) {
+            try (JsonGenerator fragmentGen = factory.createGenerator(buffer)) {
+                delegate.serialize(value, fragmentGen, provider);
+            }
+            return buffer.toByteArray();
+        }
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        if (delegate instanceof ContextualSerializer contextual) {
+            JsonSerializer<?> created = contextual.createContextual(provider, property);
+            if (created != delegate) {
+                return new PreEncodedResponseSerializer((JsonSerializer<Object>) created, factory, cache);
+            }
+        }
+        return this;
+    }
+}
@@ -0,0 +1,208 @@
+package dev.dwidi.serialization;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dev.dwidi.dto.CompressionStatsDTO;
+import org.jboss.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Picks and applies a content encoding for response bodies, and keeps compressed bodies so they
+ * are compressed once rather than per request. Cached bodies are keyed by the caller, which must
+ * include everything the body depends on, and are kept until evicted unless given a time to live.
+ */
+public class ResponseCompressor {
+
+    private static final Logger LOGGER = Logger.getLogger(ResponseCompressor.class);
+
+    // Map node, key string and byte array header
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    public enum Encoding {
+        BROTLI("br"),
+        GZIP("gzip");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        public String token() {
+            return token;
+        }
+    }
+
+    private final int minBytes;
+    private final int gzipLevel;
+    private final long cacheMaxBytes;
+    private final boolean brotliAvailable;
+    private final Encoder.Parameters brotliParameters;
+    private final Cache<String, byte[]> cache;
+
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder belowThreshold = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public ResponseCompressor(int minBytes, int gzipLevel, int brotliQuality, long cacheMaxBytes) {
+        this.minBytes = minBytes;
+        this.gzipLevel = gzipLevel;
+        this.cacheMaxBytes = cacheMaxBytes;
+        this.brotliAvailable = Brotli4jLoader.isAvailable();
+        if (!brotliAvailable) {
+            LOGGER.warn("Brotli native library is not available, responses are only gzip compressed", Brotli4jLoader.getUnavailabilityCause());
+        }
+        this.brotliParameters = new Encoder.Parameters().setQuality(brotliQuality);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String key, byte[] body) -> ENTRY_OVERHEAD_BYTES + key.length() + body.length)
+                .expireAfter(new Expiry<String, byte[]>() {
+                    @Override
+                    public long expireAfterCreate(String key, byte[] body, long currentTime) {
+                        return Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, byte[] body, long currentTime, long currentDuration) {
+                        return Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, byte[] body, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * The encoding to use for an Accept-Encoding header, or null to send the body as is. Brotli
+     * wins over gzip unless the client weights gzip higher.
+     */
+    public Encoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        double brotli = -1;
+        double gzip = -1;
+        double wildcard = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(tokens);
+            switch (coding) {
+                case "br" -> brotli = quality;
+                case "gzip", "x-gzip" -> gzip = Math.max(gzip, quality);
+                case "*" -> wildcard = quality;
+                default -> { }
+            }
+        }
+        // Codings not listed are only acceptable through the wildcard
+        brotli = brotli < 0 ? wildcard : brotli;
+        gzip = gzip < 0 ? wildcard : gzip;
+
+        if (brotliAvailable && brotli > 0 && brotli >= gzip) {
+            return Encoding.BROTLI;
+        }
+        return gzip > 0 ? Encoding.GZIP : null;
+    }
+
+    /**
+     * Compresses a complete body, or returns null when it is too small to be worth it.
+     */
+    public byte[] compress(byte[] body, Encoding encoding) throws IOException {
+        if (body.length < minBytes) {
+            belowThreshold.increment();
+            return null;
+        }
+        byte[] result = switch (encoding) {
+            case BROTLI -> Encoder.compress(body, brotliParameters);
+            case GZIP -> gzip(body);
+        };
+        compressed.increment();
+        bytesIn.add(body.length);
+        bytesOut.add(result.length);
+        return result;
+    }
+
+    public byte[] cached(String key) {
+        byte[] body = cache.getIfPresent(key);
+        if (body == null) {
+            cacheMisses.increment();
+        } else {
+            cacheHits.increment();
+        }
+        return body;
+    }
+
+    public void store(String key, byte[] body) {
+        cache.put(key, body);
+    }
+
+    public void store(String key, byte[] body, Duration timeToLive) {
+        cache.policy().expireVariably().orElseThrow().put(key, body, timeToLive);
+    }
+
+    public CompressionStatsDTO getStats() {
+        long in = bytesIn.sum();
+        long hits = cacheHits.sum();
+        long misses = cacheMisses.sum();
+        long weightedSize = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new CompressionStatsDTO(
+                compressed.sum(),
+                belowThreshold.sum(),
+                in,
+                bytesOut.sum(),
+                in == 0 ? 0 : (double) bytesOut.sum() / in,
+                hits,
+                misses,
+                hits + misses == 0 ? 0 : (double) hits / (hits + misses),
+                cache.estimatedSize(),
+                weightedSize,
+                cacheMaxBytes,
+                brotliAvailable
+        );
+    }
+
+    private byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        // GZIPOutputStream takes no level, but exposes its Deflater to subclasses
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(gzipLevel);
+            }
+        }) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    // The q parameter of one Accept-Encoding entry; entries with a malformed q are ignored
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
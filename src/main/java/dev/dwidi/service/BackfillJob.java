@@ -0,0 +1,83 @@
+package dev.dwidi.service;
+
+import dev.dwidi.dto.BackfillJobDTO;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class BackfillJob {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final int totalWindows;
+    private final AtomicInteger windowsDone = new AtomicInteger();
+    private final AtomicInteger failedWindows = new AtomicInteger();
+    private final AtomicInteger failedChunks = new AtomicInteger();
+    private final AtomicLong rowsSaved = new AtomicLong();
+    private volatile Status status = Status.PENDING;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public BackfillJob(LocalDate startDate, LocalDate endDate, int totalWindows) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalWindows = totalWindows;
+    }
+
+    void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    void windowFetched() {
+        windowsDone.incrementAndGet();
+    }
+
+    void windowFailed() {
+        failedWindows.incrementAndGet();
+        windowsDone.incrementAndGet();
+    }
+
+    void rowsSaved(int rows) {
+        rowsSaved.addAndGet(rows);
+    }
+
+    void chunkFailed() {
+        failedChunks.incrementAndGet();
+    }
+
+    void markFinished(Status finalStatus) {
+        this.finishedAt = LocalDateTime.now();
+        this.status = finalStatus;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public BackfillJobDTO toDTO() {
+        return new BackfillJobDTO(
+                jobId,
+                status.name(),
+                startDate,
+                endDate,
+                totalWindows,
+                windowsDone.get(),
+                failedWindows.get(),
+                failedChunks.get(),
+                rowsSaved.get(),
+                startedAt,
+                finishedAt
+        );
+    }
+}
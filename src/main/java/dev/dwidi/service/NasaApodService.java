@@ -1,19 +1,42 @@
 package dev.dwidi.service;
 
 import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.AstronomyPictureSummaryDTO;
+import dev.dwidi.dto.BackfillJobDTO;
 import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.DateLookupDTO;
+import dev.dwidi.dto.FetchResultDTO;
 import dev.dwidi.dto.PageDTO;
+import dev.dwidi.dto.SearchResultDTO;
+import dev.dwidi.dto.SyncResultDTO;
+import dev.dwidi.dto.TitleSuggestionDTO;
+import dev.dwidi.proxy.MediaPart;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 
 import java.time.LocalDate;
 import java.util.List;
 
 public interface NasaApodService {
-    Uni<BaseResponseDTO<List<AstronomyPictureResponseDTO>>> fetchAndSaveApodData(LocalDate startDate, LocalDate endDate);
+    Uni<BaseResponseDTO<FetchResultDTO>> fetchAndSaveApodData(LocalDate startDate, LocalDate endDate);
     Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> getAllApodData(
             int page,
             int size,
             String sortBy,
             String sortDirection
     );
+    Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> getAllApodDataByCursor(String cursor, int size, String sortBy, String sortDirection);
+    Uni<BaseResponseDTO<PageDTO<AstronomyPictureSummaryDTO>>> getApodSummaries(int page, int size, String sortBy, String sortDirection);
+    Uni<BaseResponseDTO<PageDTO<AstronomyPictureSummaryDTO>>> getApodSummariesByCursor(String cursor, int size, String sortBy, String sortDirection);
+    Uni<BaseResponseDTO<AstronomyPictureResponseDTO>> getApodByDate(LocalDate date);
+    Uni<BaseResponseDTO<List<DateLookupDTO>>> getApodByDates(List<LocalDate> dates);
+    Uni<BaseResponseDTO<PageDTO<SearchResultDTO>>> searchApodData(String query, String cursor, int size);
+    Uni<BaseResponseDTO<List<TitleSuggestionDTO>>> suggestTitles(String query, int limit);
+    Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> getApodDataInRange(LocalDate startDate, LocalDate endDate, int page, int size, String sortBy, String sortDirection);
+    Multi<AstronomyPictureResponseDTO> exportApodData(LocalDate startDate, LocalDate endDate);
+    Multi<String> exportApodDataAsCsv(LocalDate startDate, LocalDate endDate);
+    Uni<MediaPart> getApodMedia(LocalDate date, boolean hd, String range);
+    Uni<BaseResponseDTO<BackfillJobDTO>> startBackfill(LocalDate startDate, LocalDate endDate);
+    Uni<BaseResponseDTO<BackfillJobDTO>> getBackfillJob(String jobId);
+    Uni<BaseResponseDTO<SyncResultDTO>> syncToToday();
 }
\ No newline at end of file
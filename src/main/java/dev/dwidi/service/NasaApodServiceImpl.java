@@ -1,81 +1,162 @@
 package dev.dwidi.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.AstronomyPictureSummaryDTO;
+import dev.dwidi.dto.BackfillJobDTO;
 import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.DateLookupDTO;
+import dev.dwidi.dto.FetchResultDTO;
 import dev.dwidi.dto.PageDTO;
+import dev.dwidi.dto.SearchResultDTO;
+import dev.dwidi.dto.SyncResultDTO;
+import dev.dwidi.dto.TitleSuggestionDTO;
 import dev.dwidi.entity.AstronomyPicture;
-import dev.dwidi.proxy.NasaApodClient;
+import dev.dwidi.proxy.MediaMirror;
+import dev.dwidi.proxy.MediaPart;
+import dev.dwidi.proxy.NasaApodGateway;
 import dev.dwidi.proxy.NasaApodResponse;
+import dev.dwidi.repository.AstronomyPicturePageCache;
 import dev.dwidi.repository.AstronomyPictureRepository;
+import dev.dwidi.repository.AstronomyPictureSearchRepository;
+import dev.dwidi.repository.PersistResult;
+import dev.dwidi.repository.SyncWatermarkRepository;
+import dev.dwidi.repository.TitleAutocomplete;
+import dev.dwidi.utils.ByteRange;
+import dev.dwidi.utils.DateRange;
 import dev.dwidi.utils.DateValidator;
 import dev.dwidi.utils.PaginationValidator;
-import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.vertx.VertxContextSupport;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
 import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
-import org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
 import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class NasaApodServiceImpl implements NasaApodService {
 
     private static final Logger LOGGER = Logger.getLogger(NasaApodServiceImpl.class);
+    private static final Duration BACKFILL_CHUNK_MAX_WAIT = Duration.ofSeconds(1);
+    private static final String SYNC_WATERMARK = "apod";
+    private static final int MAX_BATCH_DATES = 100;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final String CSV_HEADER =
+            "copyright,date,explanation,hdurl,mediaType,serviceVersion,title,url,createdAt,updatedAt\r\n";
 
     @Inject
     AstronomyPictureRepository repository;
 
     @Inject
-    @RestClient
-    NasaApodClient nasaApodClient;
+    AstronomyPictureSearchRepository searchRepository;
 
-    @ConfigProperty(name = "nasa.api.key")
-    String apiKey;
+    @Inject
+    SyncWatermarkRepository watermarkRepository;
+
+    @Inject
+    TitleAutocomplete titleAutocomplete;
+
+    @Inject
+    AstronomyPicturePageCache pageCache;
+
+    @Inject
+    Pool pool;
+
+    @Inject
+    NasaApodGateway nasaApodGateway;
+
+    @Inject
+    MediaMirror mediaMirror;
+
+    @ConfigProperty(name = "nasa.backfill.window-days", defaultValue = "30")
+    int backfillWindowDays;
+
+    @ConfigProperty(name = "nasa.backfill.concurrency", defaultValue = "4")
+    int backfillConcurrency;
+
+    @ConfigProperty(name = "nasa.backfill.window-timeout", defaultValue = "30s")
+    Duration backfillWindowTimeout;
+
+    @ConfigProperty(name = "nasa.backfill.persist-chunk-size", defaultValue = "100")
+    int backfillPersistChunkSize;
+
+    @ConfigProperty(name = "nasa.backfill.job-retention", defaultValue = "24h")
+    Duration backfillJobRetention;
+
+    // Running jobs never expire. A job is put again when it finishes, which starts its retention
+    private final Cache<String, BackfillJob> backfillJobs = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, BackfillJob>() {
+                @Override
+                public long expireAfterCreate(String jobId, BackfillJob job, long currentTime) {
+                    return backfillJobTtlNanos(job);
+                }
+
+                @Override
+                public long expireAfterUpdate(String jobId, BackfillJob job, long currentTime, long currentDuration) {
+                    return backfillJobTtlNanos(job);
+                }
+
+                @Override
+                public long expireAfterRead(String jobId, BackfillJob job, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
 
     @Override
-    @WithTransaction
-    public Uni<BaseResponseDTO<List<AstronomyPictureResponseDTO>>> fetchAndSaveApodData(
+    @WithSession
+    public Uni<BaseResponseDTO<FetchResultDTO>> fetchAndSaveApodData(
             LocalDate startDate, LocalDate endDate) {
         LOGGER.infof("Fetching and saving APOD data for date range: %s to %s", startDate, endDate);
 
-        return DateValidator.<List<AstronomyPictureResponseDTO>>validateDateRange(startDate, endDate)
+        return DateValidator.<FetchResultDTO>validateDateRange(startDate, endDate)
                 .onItem().transformToUni(validationResult -> {
                     if (validationResult != null) {
                         return Uni.createFrom().item(validationResult);
                     }
 
-                    return nasaApodClient.getApodData(
-                                    startDate.format(DateTimeFormatter.ISO_DATE),
-                                    endDate.format(DateTimeFormatter.ISO_DATE),
-                                    apiKey
-                            )
-                            .ifNoItem().after(Duration.ofMillis(5000)).fail()
-                            .onItem().transform(responses -> {
-                                LOGGER.infof("Received %d records from NASA API", responses.size());
-                                return responses.stream()
-                                        .map(this::mapToEntity)
-                                        .toList();
+                    return repository.findByDateRange(startDate, endDate)
+                            .onItem().transformToUni(stored -> {
+                                Set<LocalDate> storedDates = stored.stream()
+                                        .map(AstronomyPicture::getDate)
+                                        .collect(Collectors.toSet());
+                                List<DateRange> missingRanges = new DateRange(startDate, endDate)
+                                        .missingRanges(storedDates);
+
+                                LOGGER.infof("Found %d stored records, fetching %d missing ranges from NASA API",
+                                        stored.size(), missingRanges.size());
+
+                                return fetchRanges(missingRanges)
+                                        .onItem().transformToUni(entities ->
+                                                repository.persistBatch(entities)
+                                        )
+                                        .onItem().transform(result -> mapToFetchResult(stored, result));
                             })
-                            .onItem().transformToUni(entities ->
-                                    repository.persistBatch(entities)
-                            )
-                            .onItem().transform(savedEntities ->
-                                    savedEntities.stream()
-                                            .map(this::mapToDTO)
-                                            .toList()
-                            )
-                            .map(dtos -> new BaseResponseDTO<>(
+                            .map(fetchResult -> new BaseResponseDTO<>(
                                     Response.Status.OK.getStatusCode(),
                                     "Successfully fetched and saved APOD data",
-                                    dtos
+                                    fetchResult
                             ))
                             .onFailure(TimeoutException.class).recoverWithItem(error ->
                                     new BaseResponseDTO<>(
@@ -95,7 +176,7 @@ public class NasaApodServiceImpl implements NasaApodService {
     }
 
     @Override
-    @WithTransaction
+    @WithSession
     public Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> getAllApodData(
             int page, int size, String sortBy, String sortDirection
     ) {
@@ -105,18 +186,19 @@ public class NasaApodServiceImpl implements NasaApodService {
         try {
             PaginationValidator.validatePaginationParams(page, size, sortBy, sortDirection);
 
-            return repository.findAllPaginated(page, size, sortBy, sortDirection)
+            return pageCache.get(page, size, sortBy, sortDirection, () ->
+                            repository.findAllPaginated(page, size, sortBy, sortDirection)
+                                    .map(pageDTO -> new PageDTO<>(
+                                            pageDTO.getContent().stream().map(this::mapToDTO).toList(),
+                                            pageDTO.getPagination()
+                                    )))
                     .map(pageDTO -> {
-                        var dtos = pageDTO.getContent().stream()
-                                .map(this::mapToDTO)
-                                .toList();
-
-                        LOGGER.infof("Retrieved %d APOD records for page %d", dtos.size(), page);
+                        LOGGER.infof("Retrieved %d APOD records for page %d", pageDTO.getContent().size(), page);
 
                         return new BaseResponseDTO<>(
                                 Response.Status.OK.getStatusCode(),
                                 "Successfully retrieved APOD data",
-                                new PageDTO<>(dtos, pageDTO.getPagination())
+                                pageDTO
                         );
                     })
                     .onFailure().invoke(throwable ->
@@ -130,7 +212,7 @@ public class NasaApodServiceImpl implements NasaApodService {
                             )
                     );
         } catch (BadRequestException e) {
-            LOGGER.error("Validation error in pagination parameters", e);
+            LOGGER.debugf("Rejected APOD listing request: %s", e.getMessage());
             return Uni.createFrom().item(new BaseResponseDTO<>(
                     Response.Status.BAD_REQUEST.getStatusCode(),
                     e.getMessage(),
@@ -139,6 +221,454 @@ public class NasaApodServiceImpl implements NasaApodService {
         }
     }
 
+    @Override
+    public Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> getAllApodDataByCursor(
+            String cursor, int size, String sortBy, String sortDirection
+    ) {
+        LOGGER.infof("Retrieving keyset page of APOD data: size=%d, sortBy=%s, sortDirection=%s",
+                size, sortBy, sortDirection);
+
+        return retrievePage("keyset page of APOD data", () -> {
+            validateCursorParams(size, sortBy, sortDirection);
+            return repository.findAllByCursor(cursor, size, sortBy, sortDirection)
+                    .map(pageDTO -> new PageDTO<>(
+                            pageDTO.getContent().stream().map(this::mapToDTO).toList(),
+                            pageDTO.getPagination()
+                    ));
+        });
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<PageDTO<AstronomyPictureSummaryDTO>>> getApodSummaries(
+            int page, int size, String sortBy, String sortDirection
+    ) {
+        LOGGER.infof("Retrieving APOD summaries: page=%d, size=%d, sortBy=%s, sortDirection=%s",
+                page, size, sortBy, sortDirection);
+
+        return retrievePage("APOD summaries", () -> {
+            PaginationValidator.validatePaginationParams(page, size, sortBy, sortDirection);
+            return repository.findSummariesPaginated(page, size, sortBy, sortDirection);
+        });
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<PageDTO<AstronomyPictureSummaryDTO>>> getApodSummariesByCursor(
+            String cursor, int size, String sortBy, String sortDirection
+    ) {
+        LOGGER.infof("Retrieving keyset page of APOD summaries: size=%d, sortBy=%s, sortDirection=%s",
+                size, sortBy, sortDirection);
+
+        return retrievePage("keyset page of APOD summaries", () -> {
+            validateCursorParams(size, sortBy, sortDirection);
+            return repository.findSummariesByCursor(cursor, size, sortBy, sortDirection);
+        });
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<AstronomyPictureResponseDTO>> getApodByDate(LocalDate date) {
+        LOGGER.debugf("Retrieving stored APOD data for %s", date);
+
+        return repository.findByDateRange(date, date)
+                .map(stored -> stored.isEmpty()
+                        ? new BaseResponseDTO<AstronomyPictureResponseDTO>(
+                                Response.Status.NOT_FOUND.getStatusCode(),
+                                "No APOD data stored for " + date,
+                                null
+                        )
+                        : new BaseResponseDTO<>(
+                                Response.Status.OK.getStatusCode(),
+                                "Successfully retrieved APOD data",
+                                mapToDTO(stored.get(0))
+                        ))
+                .onFailure().invoke(throwable ->
+                        LOGGER.errorf(throwable, "Failed to retrieve APOD data for %s", date)
+                )
+                .onFailure().recoverWithItem(throwable ->
+                        new BaseResponseDTO<>(
+                                Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+                                "Error retrieving APOD data: " + throwable.getMessage(),
+                                null
+                        )
+                );
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<List<DateLookupDTO>>> getApodByDates(List<LocalDate> dates) {
+        LOGGER.debugf("Retrieving stored APOD data for %d dates", dates.size());
+
+        if (dates.isEmpty() || dates.size() > MAX_BATCH_DATES) {
+            return Uni.createFrom().item(new BaseResponseDTO<>(
+                    Response.Status.BAD_REQUEST.getStatusCode(),
+                    "Between 1 and " + MAX_BATCH_DATES + " dates must be requested",
+                    null
+            ));
+        }
+
+        return repository.findByDates(dates.stream().distinct().toList())
+                .map(stored -> {
+                    Map<LocalDate, AstronomyPicture> byDate = stored.stream()
+                            .collect(Collectors.toMap(AstronomyPicture::getDate, entity -> entity));
+
+                    // One entry per requested date, in request order, with misses marked explicitly
+                    List<DateLookupDTO> results = dates.stream()
+                            .map(date -> {
+                                AstronomyPicture entity = byDate.get(date);
+                                return new DateLookupDTO(date, entity != null, entity == null ? null : mapToDTO(entity));
+                            })
+                            .toList();
+
+                    return new BaseResponseDTO<>(
+                            Response.Status.OK.getStatusCode(),
+                            "Successfully retrieved APOD data",
+                            results
+                    );
+                })
+                .onFailure().invoke(throwable ->
+                        LOGGER.error("Failed to retrieve APOD data for requested dates", throwable)
+                )
+                .onFailure().recoverWithItem(throwable ->
+                        new BaseResponseDTO<>(
+                                Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+                                "Error retrieving APOD data: " + throwable.getMessage(),
+                                null
+                        )
+                );
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> getApodDataInRange(
+            LocalDate startDate, LocalDate endDate, int page, int size, String sortBy, String sortDirection
+    ) {
+        LOGGER.infof("Retrieving APOD data from %s to %s: page=%d, size=%d, sortBy=%s, sortDirection=%s",
+                startDate, endDate, page, size, sortBy, sortDirection);
+
+        return DateValidator.<PageDTO<AstronomyPictureResponseDTO>>validateUnboundedRange(startDate, endDate)
+                .onItem().transformToUni(validationResult -> {
+                    if (validationResult != null) {
+                        return Uni.createFrom().item(validationResult);
+                    }
+
+                    return retrievePage("APOD data in date range", () -> {
+                        PaginationValidator.validatePaginationParams(page, size, sortBy, sortDirection);
+                        return repository.findPageInDateRange(startDate, endDate, page, size, sortBy, sortDirection)
+                                .map(pageDTO -> new PageDTO<>(
+                                        pageDTO.getContent().stream().map(this::mapToDTO).toList(),
+                                        pageDTO.getPagination()
+                                ));
+                    });
+                });
+    }
+
+    @Override
+    public Multi<AstronomyPictureResponseDTO> exportApodData(LocalDate startDate, LocalDate endDate) {
+        return export(startDate, endDate, rows -> rows);
+    }
+
+    @Override
+    public Multi<String> exportApodDataAsCsv(LocalDate startDate, LocalDate endDate) {
+        return export(startDate, endDate, rows -> Multi.createBy().concatenating().streams(
+                Multi.createFrom().item(CSV_HEADER),
+                rows.map(NasaApodServiceImpl::toCsvLine)
+        ));
+    }
+
+    @Override
+    public Uni<MediaPart> getApodMedia(LocalDate date, boolean hd, String range) {
+        LOGGER.debugf("Serving mirrored APOD media for %s (hd=%s)", date, hd);
+
+        return repository.findByDateRange(date, date)
+                .chain(stored -> {
+                    AstronomyPicture picture = stored.isEmpty() ? null : stored.get(0);
+                    String url = picture == null ? null : hd && picture.getHdurl() != null ? picture.getHdurl() : picture.getUrl();
+                    // Videos link to third-party players, which are not mirrored
+                    if (url == null || !"image".equals(picture.getMediaType())) {
+                        return Uni.createFrom().failure(new NotFoundException("No APOD image stored for " + date));
+                    }
+                    return mediaMirror.get(url);
+                })
+                .map(file -> {
+                    ByteRange byteRange = ByteRange.parse(range, file.getSize());
+                    if (byteRange != null) {
+                        mediaMirror.served(byteRange.getLength());
+                    }
+                    return new MediaPart(file, byteRange);
+                })
+                .onFailure(throwable -> !(throwable instanceof WebApplicationException))
+                .transform(throwable -> {
+                    LOGGER.errorf(throwable, "Failed to serve APOD media for %s", date);
+                    return new WebApplicationException("Failed to fetch APOD media for " + date, Response.Status.BAD_GATEWAY);
+                });
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<PageDTO<SearchResultDTO>>> searchApodData(String query, String cursor, int size) {
+        LOGGER.infof("Searching APOD data: query=%s, size=%d", query, size);
+
+        return retrievePage("APOD search results", () -> {
+            if (query == null || query.isBlank()) {
+                throw new BadRequestException("Search query cannot be empty");
+            }
+            PaginationValidator.validateSize(size);
+            return searchRepository.search(query.trim(), cursor, size);
+        });
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<List<TitleSuggestionDTO>>> suggestTitles(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0 || limit > MAX_SUGGESTIONS) {
+            return Uni.createFrom().item(new BaseResponseDTO<>(
+                    Response.Status.BAD_REQUEST.getStatusCode(),
+                    "Query cannot be empty and limit must be between 1 and " + MAX_SUGGESTIONS,
+                    null
+            ));
+        }
+
+        return titleAutocomplete.suggest(query, limit)
+                .map(suggestions -> new BaseResponseDTO<>(
+                        Response.Status.OK.getStatusCode(),
+                        "Successfully retrieved title suggestions",
+                        suggestions
+                ))
+                .onFailure().invoke(throwable ->
+                        LOGGER.error("Failed to retrieve title suggestions", throwable)
+                )
+                .onFailure().recoverWithItem(throwable ->
+                        new BaseResponseDTO<>(
+                                Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+                                "Error retrieving title suggestions: " + throwable.getMessage(),
+                                null
+                        )
+                );
+    }
+
+    private <T> Multi<T> export(LocalDate startDate, LocalDate endDate,
+                                Function<Multi<AstronomyPictureResponseDTO>, Multi<T>> format) {
+        LocalDate start = startDate == null ? DateValidator.MIN_DATE : startDate;
+        LocalDate end = endDate == null ? DateValidator.maxDate() : endDate;
+        LOGGER.infof("Exporting APOD data from %s to %s", start, end);
+
+        // Validation fails the stream before anything is written, so it still becomes a 400
+        return DateValidator.<Void>validateUnboundedRange(start, end)
+                .onItem().transformToMulti(validationResult -> {
+                    if (validationResult != null) {
+                        return Multi.createFrom().<T>failure(new BadRequestException(validationResult.getMessage()));
+                    }
+                    return format.apply(repository.streamByDateRange(start, end).map(this::mapToDTO));
+                })
+                .onFailure(throwable -> !(throwable instanceof BadRequestException))
+                .invoke(throwable -> LOGGER.error("Failed to export APOD data", throwable));
+    }
+
+    private void validateCursorParams(int size, String sortBy, String sortDirection) {
+        PaginationValidator.validateSize(size);
+        PaginationValidator.validateSortDirection(sortDirection);
+        PaginationValidator.validateSortBy(sortBy);
+    }
+
+    // Client input errors are a 400 logged at debug; only real failures are logged as errors
+    private <T> Uni<BaseResponseDTO<PageDTO<T>>> retrievePage(String operation, Supplier<Uni<PageDTO<T>>> query) {
+        try {
+            return query.get()
+                    .map(pageDTO -> new BaseResponseDTO<>(
+                            Response.Status.OK.getStatusCode(),
+                            "Successfully retrieved APOD data",
+                            pageDTO
+                    ))
+                    .onFailure().invoke(throwable ->
+                            LOGGER.errorf(throwable, "Failed to retrieve %s", operation)
+                    )
+                    .onFailure().recoverWithItem(throwable ->
+                            new BaseResponseDTO<>(
+                                    Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+                                    "Error retrieving APOD data: " + throwable.getMessage(),
+                                    null
+                            )
+                    );
+        } catch (BadRequestException e) {
+            LOGGER.debugf("Rejected request for %s: %s", operation, e.getMessage());
+            return Uni.createFrom().item(new BaseResponseDTO<>(
+                    Response.Status.BAD_REQUEST.getStatusCode(),
+                    e.getMessage(),
+                    null
+            ));
+        }
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<BackfillJobDTO>> startBackfill(LocalDate startDate, LocalDate endDate) {
+        LOGGER.infof("Starting APOD backfill for date range: %s to %s", startDate, endDate);
+
+        return DateValidator.<BackfillJobDTO>validateUnboundedRange(startDate, endDate)
+                .onItem().transform(validationResult -> {
+                    if (validationResult != null) {
+                        return validationResult;
+                    }
+
+                    List<DateRange> windows = new DateRange(startDate, endDate).splitIntoWindows(backfillWindowDays);
+                    BackfillJob job = new BackfillJob(startDate, endDate, windows.size());
+                    backfillJobs.put(job.getJobId(), job);
+                    runBackfill(job, windows);
+
+                    LOGGER.infof("Backfill job %s scheduled with %d windows, concurrency=%d",
+                            job.getJobId(), windows.size(), backfillConcurrency);
+
+                    return new BaseResponseDTO<>(
+                            Response.Status.ACCEPTED.getStatusCode(),
+                            "Backfill job started",
+                            job.toDTO()
+                    );
+                });
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<BackfillJobDTO>> getBackfillJob(String jobId) {
+        BackfillJob job = backfillJobs.getIfPresent(jobId);
+        if (job == null) {
+            return Uni.createFrom().item(new BaseResponseDTO<>(
+                    Response.Status.NOT_FOUND.getStatusCode(),
+                    "Backfill job not found: " + jobId,
+                    null
+            ));
+        }
+
+        return Uni.createFrom().item(new BaseResponseDTO<>(
+                Response.Status.OK.getStatusCode(),
+                "Successfully retrieved backfill job",
+                job.toDTO()
+        ));
+    }
+
+    @Override
+    public Uni<BaseResponseDTO<SyncResultDTO>> syncToToday() {
+        // The server's date can already be NASA's tomorrow, which NASA answers with a 400
+        LocalDate today = LocalDate.now(DateValidator.NASA_ZONE);
+
+        return watermarkRepository.findWatermark(SYNC_WATERMARK)
+                .onItem().ifNull().switchTo(() -> repository.findLatestDate())
+                .onItem().transformToUni(watermark -> {
+                    SyncResultDTO result = new SyncResultDTO(watermark, watermark, 0, 0, 0);
+                    LocalDate from = watermark == null ? today : watermark.plusDays(1);
+                    if (from.isAfter(today)) {
+                        LOGGER.infof("APOD data already synced up to %s", watermark);
+                        return Uni.createFrom().item(result);
+                    }
+
+                    LOGGER.infof("Syncing APOD data from %s to %s", from, today);
+                    return Multi.createFrom().iterable(new DateRange(from, today).splitIntoWindows(backfillWindowDays))
+                            .onItem().transformToUniAndConcatenate(window -> syncWindow(window, result))
+                            .collect().last()
+                            .replaceWith(result);
+                })
+                .map(result -> new BaseResponseDTO<>(
+                        Response.Status.OK.getStatusCode(),
+                        "Successfully synced APOD data",
+                        result
+                ))
+                .onFailure().invoke(throwable ->
+                        LOGGER.error("Failed to sync APOD data", throwable)
+                )
+                .onFailure().recoverWithItem(throwable ->
+                        new BaseResponseDTO<>(
+                                Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+                                "Error syncing APOD data: " + throwable.getMessage(),
+                                null
+                        )
+                );
+    }
+
+    // Rows and the new watermark are committed together, so a failed window is retried next run
+    private Uni<PersistResult> syncWindow(DateRange window, SyncResultDTO result) {
+        return nasaApodGateway.getApodData(window)
+                .onItem().transform(responses -> responses.stream()
+                        .map(this::mapToEntity)
+                        .toList())
+                .onItem().transformToUni(entities -> {
+                    if (entities.isEmpty()) {
+                        return Uni.createFrom().item(new PersistResult(entities, 0, 0, 0));
+                    }
+
+                    // Only advance to the latest day NASA actually returned, so a day that
+                    // is not published yet is requested again on the next run
+                    LocalDate watermark = entities.stream()
+                            .map(AstronomyPicture::getDate)
+                            .max(Comparator.naturalOrder())
+                            .orElseThrow();
+                    return pool.withTransaction(connection ->
+                                    repository.persistBatch(connection, entities)
+                                            .call(() -> watermarkRepository.advance(connection, SYNC_WATERMARK, watermark))
+                            )
+                            .invoke(persisted -> {
+                                repository.onCommitted(persisted);
+                                result.setInserted(result.getInserted() + persisted.getInserted());
+                                result.setUpdated(result.getUpdated() + persisted.getUpdated());
+                                result.setUnchanged(result.getUnchanged() + persisted.getUnchanged());
+                                result.setWatermark(watermark);
+                            });
+                });
+    }
+
+    private void runBackfill(BackfillJob job, List<DateRange> windows) {
+        // Windows are streamed concurrently and decoded record by record; records are
+        // grouped into bounded chunks and persisted one chunk at a time as they arrive
+        VertxContextSupport.subscribe(
+                () -> Multi.createFrom().iterable(windows)
+                        .onSubscription().invoke(job::markRunning)
+                        .onItem().transformToMulti(window -> streamWindow(job, window))
+                        .merge(backfillConcurrency)
+                        .group().intoLists().of(backfillPersistChunkSize, BACKFILL_CHUNK_MAX_WAIT)
+                        .onItem().transformToUniAndConcatenate(entities -> persistChunk(job, entities)),
+                subscribe -> subscribe.with(
+                        ignored -> {
+                        },
+                        failure -> {
+                            LOGGER.errorf(failure, "Backfill job %s failed", job.getJobId());
+                            finishBackfill(job, BackfillJob.Status.FAILED);
+                        },
+                        () -> {
+                            LOGGER.infof("Backfill job %s completed: windows=%d, failed=%d, rows=%d",
+                                    job.getJobId(), job.getTotalWindows(),
+                                    job.getFailedWindows().get(), job.getRowsSaved().get());
+                            finishBackfill(job, BackfillJob.Status.COMPLETED);
+                        }
+                )
+        );
+    }
+
+    private void finishBackfill(BackfillJob job, BackfillJob.Status status) {
+        job.markFinished(status);
+        backfillJobs.put(job.getJobId(), job);
+    }
+
+    private long backfillJobTtlNanos(BackfillJob job) {
+        return job.isFinished() ? backfillJobRetention.toNanos() : Long.MAX_VALUE;
+    }
+
+    private Multi<AstronomyPicture> streamWindow(BackfillJob job, DateRange window) {
+        return nasaApodGateway.streamApodData(window)
+                .ifNoItem().after(backfillWindowTimeout).fail()
+                .onItem().transform(this::mapToEntity)
+                .onCompletion().invoke(job::windowFetched)
+                .onFailure().invoke(throwable -> {
+                    LOGGER.errorf(throwable, "Backfill job %s failed to fetch window %s to %s",
+                            job.getJobId(), window.getStart(), window.getEnd());
+                    job.windowFailed();
+                })
+                // Records decoded before the failure are still persisted, and the job keeps going
+                .onFailure().recoverWithCompletion();
+    }
+
+    private Uni<PersistResult> persistChunk(BackfillJob job, List<AstronomyPicture> entities) {
+        return repository.persistBatch(entities)
+                .onItem().invoke(result -> job.rowsSaved(result.getWritten()))
+                .onFailure().invoke(throwable -> {
+                    LOGGER.errorf(throwable, "Backfill job %s failed to persist %d records",
+                            job.getJobId(), entities.size());
+                    job.chunkFailed();
+                })
+                // A null item completes the chunk without emitting, so the job keeps going
+                .onFailure().recoverWithNull();
+    }
+
     private AstronomyPicture mapToEntity(NasaApodResponse response) {
         AstronomyPicture entity = new AstronomyPicture();
         entity.setCopyright(response.getCopyright());
@@ -152,6 +682,67 @@ public class NasaApodServiceImpl implements NasaApodService {
         return entity;
     }
 
+    private Uni<List<AstronomyPicture>> fetchRanges(List<DateRange> ranges) {
+        if (ranges.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+
+        return Uni.join().all(
+                        ranges.stream()
+                                .map(this::fetchRange)
+                                .toList()
+                ).andFailFast()
+                .onItem().transform(results -> results.stream()
+                        .flatMap(List::stream)
+                        .toList());
+    }
+
+    private Uni<List<AstronomyPicture>> fetchRange(DateRange range) {
+        return nasaApodGateway.getApodData(range)
+                .onItem().transform(responses -> {
+                    LOGGER.infof("Received %d records from NASA API for %s to %s",
+                            responses.size(), range.getStart(), range.getEnd());
+                    return responses.stream()
+                            .map(this::mapToEntity)
+                            .toList();
+                });
+    }
+
+    private FetchResultDTO mapToFetchResult(List<AstronomyPicture> stored, PersistResult result) {
+        LOGGER.infof("Saved APOD data: inserted=%d, updated=%d, unchanged=%d, alreadyStored=%d",
+                result.getInserted(), result.getUpdated(), result.getUnchanged(), stored.size());
+
+        return new FetchResultDTO(
+                result.getInserted(),
+                result.getUpdated(),
+                result.getUnchanged(),
+                stored.size(),
+                Stream.concat(stored.stream(), result.getEntities().stream())
+                        .sorted(Comparator.comparing(AstronomyPicture::getDate))
+                        .map(this::mapToDTO)
+                        .toList()
+        );
+    }
+
+    private static String toCsvLine(AstronomyPictureResponseDTO dto) {
+        return Stream.of(dto.getCopyright(), dto.getDate(), dto.getExplanation(), dto.getHdurl(), dto.getMediaType(),
+                        dto.getServiceVersion(), dto.getTitle(), dto.getUrl(), dto.getCreatedAt(), dto.getUpdatedAt())
+                .map(NasaApodServiceImpl::toCsvField)
+                .collect(Collectors.joining(",", "", "\r\n"));
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break, doubling inner quotes
+    private static String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
     private AstronomyPictureResponseDTO mapToDTO(AstronomyPicture entity) {
         return new AstronomyPictureResponseDTO(
                 entity.getCopyright(),
@@ -0,0 +1,71 @@
+package dev.dwidi.utils;
+
+import lombok.Value;
+
+import java.util.Locale;
+
+/**
+ * A single byte range of a representation, resolved from an HTTP Range header.
+ */
+@Value
+public class ByteRange {
+    long offset;
+    long length;
+
+    public static ByteRange full(long size) {
+        return new ByteRange(0, size);
+    }
+
+    /**
+     * Resolves a Range header against the representation size. Headers the server may ignore, such
+     * as other units, several ranges or bad syntax, give the whole representation. Returns null
+     * when the range lies entirely outside it.
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.toLowerCase(Locale.ROOT).startsWith("bytes=")) {
+            return full(size);
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return full(size);
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+
+        try {
+            if (first.isEmpty()) {
+                // Suffix range: the last n bytes
+                if (last.isEmpty()) {
+                    return full(size);
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix == 0 || size == 0) {
+                    return null;
+                }
+                long length = Math.min(suffix, size);
+                return new ByteRange(size - length, length);
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return full(size);
+            }
+            if (start >= size) {
+                return null;
+            }
+            return new ByteRange(start, Math.min(end, size - 1) - start + 1);
+        } catch (NumberFormatException e) {
+            return full(size);
+        }
+    }
+
+    public boolean isPartial(long size) {
+        return offset != 0 || length != size;
+    }
+
+    public String contentRange(long size) {
+        return "bytes " + offset + "-" + (offset + length - 1) + "/" + size;
+    }
+}
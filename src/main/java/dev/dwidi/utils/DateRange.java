@@ -0,0 +1,64 @@
+package dev.dwidi.utils;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Value
+public class DateRange {
+    LocalDate start;
+    LocalDate end;
+
+    public long days() {
+        return end.toEpochDay() - start.toEpochDay() + 1;
+    }
+
+    public boolean contains(LocalDate date) {
+        return date != null && !date.isBefore(start) && !date.isAfter(end);
+    }
+
+    public boolean contains(DateRange other) {
+        return !other.start.isBefore(start) && !other.end.isAfter(end);
+    }
+
+    public List<DateRange> splitIntoWindows(int windowDays) {
+        if (windowDays <= 0) {
+            throw new IllegalArgumentException("Window size must be greater than 0");
+        }
+
+        List<DateRange> windows = new ArrayList<>();
+        LocalDate windowStart = start;
+        while (!windowStart.isAfter(end)) {
+            LocalDate windowEnd = windowStart.plusDays(windowDays - 1L);
+            if (windowEnd.isAfter(end)) {
+                windowEnd = end;
+            }
+            windows.add(new DateRange(windowStart, windowEnd));
+            windowStart = windowEnd.plusDays(1);
+        }
+        return windows;
+    }
+
+    // Collapses the days of this range that are not in presentDates into the fewest contiguous ranges
+    public List<DateRange> missingRanges(Set<LocalDate> presentDates) {
+        List<DateRange> missing = new ArrayList<>();
+        LocalDate gapStart = null;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            if (presentDates.contains(day)) {
+                if (gapStart != null) {
+                    missing.add(new DateRange(gapStart, day.minusDays(1)));
+                    gapStart = null;
+                }
+            } else if (gapStart == null) {
+                gapStart = day;
+            }
+        }
+        if (gapStart != null) {
+            missing.add(new DateRange(gapStart, end));
+        }
+        return missing;
+    }
+}
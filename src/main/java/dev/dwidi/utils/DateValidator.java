@@ -5,16 +5,24 @@ import io.smallrye.mutiny.Uni;
 import jakarta.ws.rs.core.Response;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
 
 public class DateValidator {
-    private static final LocalDate MIN_DATE = LocalDate.of(1995, 6, 16);
-    private static final LocalDate MAX_DATE = LocalDate.now();
+    // First day NASA published an APOD
+    public static final LocalDate MIN_DATE = LocalDate.of(1995, 6, 16);
+    // NASA publishes by US Eastern dates and rejects an end_date past its own today
+    public static final ZoneId NASA_ZONE = ZoneId.of("America/New_York");
     private static final int MAX_DATE_RANGE_DAYS = 30;
 
     private DateValidator() {
         throw new UnsupportedOperationException("This is util class");
     }
 
+    // Read on every call, so the bound moves with the calendar in a long-running process
+    public static LocalDate maxDate() {
+        return LocalDate.now(NASA_ZONE);
+    }
+
     public static <T> Uni<BaseResponseDTO<T>> validateDateRange(LocalDate startDate, LocalDate endDate) {
         try {
             validateDateBounds(startDate, "Start date");
@@ -32,6 +40,23 @@ public class DateValidator {
         }
     }
 
+    // For ranges that are split into windows or paged downstream, so only bounds and order are checked here
+    public static <T> Uni<BaseResponseDTO<T>> validateUnboundedRange(LocalDate startDate, LocalDate endDate) {
+        try {
+            validateDateBounds(startDate, "Start date");
+            validateDateBounds(endDate, "End date");
+            validateDateOrder(startDate, endDate);
+
+            return Uni.createFrom().nullItem();
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(new BaseResponseDTO<>(
+                    Response.Status.BAD_REQUEST.getStatusCode(),
+                    e.getMessage(),
+                    null
+            ));
+        }
+    }
+
     private static void validateDateBounds(LocalDate date, String fieldName) {
         if (date == null) {
             throw new IllegalArgumentException(fieldName + " cannot be null");
@@ -39,8 +64,9 @@ public class DateValidator {
         if (date.isBefore(MIN_DATE)) {
             throw new IllegalArgumentException(fieldName + " cannot be before " + MIN_DATE);
         }
-        if (date.isAfter(MAX_DATE)) {
-            throw new IllegalArgumentException(fieldName + " cannot be after " + MAX_DATE);
+        LocalDate maxDate = maxDate();
+        if (date.isAfter(maxDate)) {
+            throw new IllegalArgumentException(fieldName + " cannot be after " + maxDate);
         }
     }
 
@@ -0,0 +1,11 @@
+-- Full-text search over title and explanation, used by GET /api/v1/astronomy/search.
+-- Run once with psql in autocommit mode: CREATE INDEX CONCURRENTLY cannot run in a transaction block.
+-- Adding the stored generated column rewrites astronomy_picture and locks it while it does.
+-- If the index build fails, drop the invalid index it leaves behind before running this again.
+
+-- Title matches weigh more than explanation matches
+ALTER TABLE astronomy_picture ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+                         setweight(to_tsvector('english', coalesce(explanation, '')), 'B')) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_astronomy_picture_search ON astronomy_picture USING GIN (search_vector);
@@ -2,16 +2,28 @@ package dev.dwidi.test.controller;
 
 import dev.dwidi.controller.AstronomyController;
 import dev.dwidi.dto.*;
+import dev.dwidi.proxy.MediaFile;
+import dev.dwidi.proxy.MediaPart;
 import dev.dwidi.service.NasaApodService;
+import dev.dwidi.utils.ByteRange;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.PathPart;
+import org.jboss.resteasy.reactive.RestResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
@@ -19,6 +31,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -62,15 +76,15 @@ public class AstronomyControllerTest {
         // Arrange
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 2);
-        List<AstronomyPictureResponseDTO> mockResponse = Arrays.asList(mockApodData);
-        BaseResponseDTO<List<AstronomyPictureResponseDTO>> expectedResponse =
+        FetchResultDTO mockResponse = new FetchResultDTO(1, 0, 0, 0, Arrays.asList(mockApodData));
+        BaseResponseDTO<FetchResultDTO> expectedResponse =
                 new BaseResponseDTO<>(200, "Success", mockResponse);
 
         when(nasaApodService.fetchAndSaveApodData(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Uni.createFrom().item(expectedResponse));
 
         // Act
-        Uni<BaseResponseDTO<List<AstronomyPictureResponseDTO>>> result =
+        Uni<BaseResponseDTO<FetchResultDTO>> result =
                 astronomyController.fetchAndSaveApodData(
                         startDate.toString(),
                         endDate.toString()
@@ -80,8 +94,9 @@ public class AstronomyControllerTest {
         result.subscribe().with(response -> {
             assertEquals(200, response.getStatusCode());
             assertNotNull(response.getData());
-            assertEquals(1, response.getData().size());
-            assertEquals("Test APOD", response.getData().get(0).getTitle());
+            assertEquals(1, response.getData().getInserted());
+            assertEquals(1, response.getData().getRecords().size());
+            assertEquals("Test APOD", response.getData().getRecords().get(0).getTitle());
         });
     }
 
@@ -92,7 +107,7 @@ public class AstronomyControllerTest {
         String validEndDate = "2024-01-02";
 
         // Act
-        Uni<BaseResponseDTO<List<AstronomyPictureResponseDTO>>> result =
+        Uni<BaseResponseDTO<FetchResultDTO>> result =
                 astronomyController.fetchAndSaveApodData(invalidStartDate, validEndDate);
 
         // Assert
@@ -110,13 +125,13 @@ public class AstronomyControllerTest {
         String endDate = "2024-01-01";
 
         // Set up mock service to return error response
-        BaseResponseDTO<List<AstronomyPictureResponseDTO>> errorResponse =
+        BaseResponseDTO<FetchResultDTO> errorResponse =
                 new BaseResponseDTO<>(400, "Start date must be before end date", null);
         when(nasaApodService.fetchAndSaveApodData(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Uni.createFrom().item(errorResponse));
 
         // Act
-        Uni<BaseResponseDTO<List<AstronomyPictureResponseDTO>>> result =
+        Uni<BaseResponseDTO<FetchResultDTO>> result =
                 astronomyController.fetchAndSaveApodData(startDate, endDate);
 
         // Assert
@@ -132,14 +147,14 @@ public class AstronomyControllerTest {
         // Arrange
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 2);
-        BaseResponseDTO<List<AstronomyPictureResponseDTO>> emptyResponse =
-                new BaseResponseDTO<>(200, "Success", Collections.emptyList());
+        BaseResponseDTO<FetchResultDTO> emptyResponse =
+                new BaseResponseDTO<>(200, "Success", new FetchResultDTO(0, 0, 0, 0, Collections.emptyList()));
 
         when(nasaApodService.fetchAndSaveApodData(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Uni.createFrom().item(emptyResponse));
 
         // Act
-        Uni<BaseResponseDTO<List<AstronomyPictureResponseDTO>>> result =
+        Uni<BaseResponseDTO<FetchResultDTO>> result =
                 astronomyController.fetchAndSaveApodData(
                         startDate.toString(),
                         endDate.toString()
@@ -149,7 +164,7 @@ public class AstronomyControllerTest {
         result.subscribe().with(response -> {
             assertEquals(200, response.getStatusCode());
             assertNotNull(response.getData());
-            assertTrue(response.getData().isEmpty());
+            assertTrue(response.getData().getRecords().isEmpty());
         });
     }
 
@@ -164,7 +179,7 @@ public class AstronomyControllerTest {
 
         // Act
         Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> result =
-                astronomyController.getAllApodData(0, 10, "date", "asc");
+                astronomyController.getAllApodData(0, 10, "date", "asc", null, null, null);
 
         // Assert
         result.subscribe().with(response -> {
@@ -178,6 +193,24 @@ public class AstronomyControllerTest {
         });
     }
 
+    @Test
+    void testGetAllApodData_CursorMode() {
+        // Arrange
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> expectedResponse =
+                new BaseResponseDTO<>(200, "Success", mockPageData);
+
+        when(nasaApodService.getAllApodDataByCursor(eq(""), eq(10), eq("date"), eq("asc")))
+                .thenReturn(Uni.createFrom().item(expectedResponse));
+
+        // Act
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> response =
+                astronomyController.getAllApodData(0, 10, "date", "asc", "", null, null).await().indefinitely();
+
+        // Assert
+        assertEquals(200, response.getStatusCode());
+        verify(nasaApodService, never()).getAllApodData(anyInt(), anyInt(), anyString(), anyString());
+    }
+
     @Test
     void testGetAllApodData_NegativePage() {
         // Arrange
@@ -189,7 +222,7 @@ public class AstronomyControllerTest {
 
         // Act
         Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> result =
-                astronomyController.getAllApodData(-1, 10, "date", "asc");
+                astronomyController.getAllApodData(-1, 10, "date", "asc", null, null, null);
 
         // Assert
         result.subscribe().with(response -> {
@@ -210,7 +243,7 @@ public class AstronomyControllerTest {
 
         // Act
         Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> result =
-                astronomyController.getAllApodData(0, 0, "date", "asc");
+                astronomyController.getAllApodData(0, 0, "date", "asc", null, null, null);
 
         // Assert
         result.subscribe().with(response -> {
@@ -231,7 +264,7 @@ public class AstronomyControllerTest {
 
         // Act
         Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> result =
-                astronomyController.getAllApodData(0, 10, "date", "invalid");
+                astronomyController.getAllApodData(0, 10, "date", "invalid", null, null, null);
 
         // Assert
         result.subscribe().with(response -> {
@@ -252,7 +285,7 @@ public class AstronomyControllerTest {
 
         // Act
         Uni<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> result =
-                astronomyController.getAllApodData(0, 10, null, null);
+                astronomyController.getAllApodData(0, 10, null, null, null, null, null);
 
         // Assert
         result.subscribe().with(response -> {
@@ -264,4 +297,170 @@ public class AstronomyControllerTest {
             assertFalse(response.getData().getPagination().isHasPrevious());
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStartBackfill_Success() {
+        // Arrange
+        BackfillJobDTO job = new BackfillJobDTO();
+        job.setJobId("job-1");
+        job.setStatus("PENDING");
+        job.setTotalWindows(3);
+        BaseResponseDTO<BackfillJobDTO> expectedResponse =
+                new BaseResponseDTO<>(202, "Backfill job started", job);
+
+        when(nasaApodService.startBackfill(eq(LocalDate.of(2024, 1, 1)), eq(LocalDate.of(2024, 3, 1))))
+                .thenReturn(Uni.createFrom().item(expectedResponse));
+
+        // Act
+        Uni<BaseResponseDTO<BackfillJobDTO>> result =
+                astronomyController.startBackfill("2024-01-01", "2024-03-01");
+
+        // Assert
+        result.subscribe().with(response -> {
+            assertEquals(202, response.getStatusCode());
+            assertEquals("job-1", response.getData().getJobId());
+            assertEquals(3, response.getData().getTotalWindows());
+        });
+    }
+
+    @Test
+    void testStartBackfill_InvalidDateFormat() {
+        // Act
+        Uni<BaseResponseDTO<BackfillJobDTO>> result =
+                astronomyController.startBackfill("2024-01-01", "not-a-date");
+
+        // Assert
+        result.subscribe().with(response -> {
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatusCode());
+            assertEquals("Invalid date format. Please use YYYY-MM-DD format", response.getMessage());
+            assertNull(response.getData());
+        });
+    }
+
+    @Test
+    void testGetAllApodData_DateRange() {
+        // Arrange
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> expectedResponse =
+                new BaseResponseDTO<>(200, "Success", mockPageData);
+
+        when(nasaApodService.getApodDataInRange(eq(LocalDate.of(2024, 1, 1)), eq(LocalDate.of(2024, 1, 31)),
+                eq(0), eq(10), eq("date"), eq("asc")))
+                .thenReturn(Uni.createFrom().item(expectedResponse));
+
+        // Act
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> response = astronomyController
+                .getAllApodData(0, 10, "date", "asc", null, "2024-01-01", "2024-01-31")
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(200, response.getStatusCode());
+        verify(nasaApodService, never()).getAllApodData(anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testGetApodByDate_PastDateIsCacheable() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        when(nasaApodService.getApodByDate(date))
+                .thenReturn(Uni.createFrom().item(new BaseResponseDTO<>(200, "Success", mockApodData)));
+
+        // Act
+        RestResponse<BaseResponseDTO<AstronomyPictureResponseDTO>> response =
+                astronomyController.getApodByDate("2024-01-01").await().indefinitely();
+
+        // Assert
+        assertEquals(200, response.getEntity().getStatusCode());
+        assertTrue(response.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+    }
+
+    @Test
+    void testGetApodByDate_TodayIsNotCached() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        when(nasaApodService.getApodByDate(today))
+                .thenReturn(Uni.createFrom().item(new BaseResponseDTO<>(200, "Success", mockApodData)));
+
+        // Act
+        RestResponse<BaseResponseDTO<AstronomyPictureResponseDTO>> response =
+                astronomyController.getApodByDate(today.toString()).await().indefinitely();
+
+        // Assert
+        assertEquals(200, response.getEntity().getStatusCode());
+        assertNull(response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testGetApodByDate_NotFoundIsNotCached() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        when(nasaApodService.getApodByDate(date))
+                .thenReturn(Uni.createFrom().item(new BaseResponseDTO<>(404, "Not found", null)));
+
+        // Act
+        RestResponse<BaseResponseDTO<AstronomyPictureResponseDTO>> response =
+                astronomyController.getApodByDate("2024-01-01").await().indefinitely();
+
+        // Assert
+        assertEquals(404, response.getEntity().getStatusCode());
+        assertNull(response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testExportApodData_DefaultsOpenBounds() {
+        // Arrange
+        when(nasaApodService.exportApodData(LocalDate.of(2024, 1, 1), null))
+                .thenReturn(Multi.createFrom().item(mockApodData));
+
+        // Act
+        List<AstronomyPictureResponseDTO> rows = astronomyController.exportApodData("2024-01-01", null)
+                .collect().asList()
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    void testGetApodMedia_PartialRange(@TempDir Path directory) throws IOException {
+        // Arrange
+        Path image = Files.write(directory.resolve("image.jpg"), new byte[1000]);
+        MediaFile file = new MediaFile(image, 1000, "image/jpeg");
+        when(nasaApodService.getApodMedia(LocalDate.of(2024, 1, 1), false, "bytes=0-99"))
+                .thenReturn(Uni.createFrom().item(new MediaPart(file, new ByteRange(0, 100))));
+
+        // Act
+        RestResponse<PathPart> response = astronomyController.getApodMedia("2024-01-01", false, "bytes=0-99")
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.PARTIAL_CONTENT.getStatusCode(), response.getStatus());
+        assertEquals("bytes 0-99/1000", response.getHeaderString("Content-Range"));
+        assertEquals("bytes", response.getHeaderString("Accept-Ranges"));
+        assertEquals("image/jpeg", response.getHeaderString(HttpHeaders.CONTENT_TYPE));
+        assertEquals(100, response.getEntity().count);
+    }
+
+    @Test
+    void testGetApodMedia_UnsatisfiableRange() {
+        // Arrange
+        MediaFile file = new MediaFile(Path.of("/tmp/apod-media/image.jpg"), 1000, "image/jpeg");
+        when(nasaApodService.getApodMedia(LocalDate.of(2024, 1, 1), false, "bytes=5000-"))
+                .thenReturn(Uni.createFrom().item(new MediaPart(file, null)));
+
+        // Act
+        RestResponse<PathPart> response = astronomyController.getApodMedia("2024-01-01", false, "bytes=5000-")
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode(), response.getStatus());
+        assertEquals("bytes */1000", response.getHeaderString("Content-Range"));
+        assertNull(response.getEntity());
+    }
+
+    @Test
+    void testExportApodDataAsCsv_InvalidDateFormat() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> astronomyController.exportApodDataAsCsv("2024/01/01", null));
+        verify(nasaApodService, never()).exportApodDataAsCsv(any(), any());
+    }
+}
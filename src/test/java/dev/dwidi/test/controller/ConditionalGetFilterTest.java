@@ -0,0 +1,126 @@
+package dev.dwidi.test.controller;
+
+import dev.dwidi.controller.ConditionalGetFilter;
+import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.repository.AstronomyPictureVersion;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetFilterTest {
+
+    @Mock
+    AstronomyPictureVersion version;
+
+    @Mock
+    ContainerRequestContext requestContext;
+
+    @Mock
+    ContainerResponseContext responseContext;
+
+    @Mock
+    Request request;
+
+    @InjectMocks
+    ConditionalGetFilter filter;
+
+    private AstronomyPictureVersion.Stamp stamp;
+
+    @BeforeEach
+    void setUp() {
+        stamp = new AstronomyPictureVersion.Stamp(42, Instant.parse("2024-01-01T10:15:30.123456Z"));
+    }
+
+    @Test
+    void testMatchingEntityTag_ShortCircuitsWith304() {
+        // Arrange
+        EntityTag tag = new EntityTag(stamp.tag(), true);
+        when(version.current()).thenReturn(stamp);
+        when(requestContext.getMethod()).thenReturn("GET");
+        when(requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH)).thenReturn(tag.toString());
+        when(requestContext.getRequest()).thenReturn(request);
+        when(request.evaluatePreconditions(tag)).thenReturn(Response.notModified());
+
+        // Act
+        filter.filter(requestContext);
+
+        // Assert
+        verify(requestContext).abortWith(any(Response.class));
+    }
+
+    @Test
+    void testUnknownVersion_PassesThrough() {
+        // Arrange
+        when(version.current()).thenReturn(null);
+
+        // Act
+        filter.filter(requestContext);
+
+        // Assert
+        verify(requestContext, never()).abortWith(any());
+        verify(requestContext, never()).setProperty(any(), any());
+    }
+
+    @Test
+    void testSuccessfulResponse_CarriesValidators() {
+        // Arrange
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        when(requestContext.getProperty(any())).thenReturn(stamp);
+        when(responseContext.getStatus()).thenReturn(200);
+        when(responseContext.getEntity()).thenReturn(new BaseResponseDTO<>(200, "OK", "data"));
+        when(responseContext.getHeaders()).thenReturn(headers);
+
+        // Act
+        filter.filter(requestContext, responseContext);
+
+        // Assert
+        assertEquals(new EntityTag(stamp.tag(), true), headers.getFirst(HttpHeaders.ETAG));
+        assertNotNull(headers.getFirst(HttpHeaders.LAST_MODIFIED));
+        assertEquals(HttpHeaders.ACCEPT, headers.getFirst(HttpHeaders.VARY));
+    }
+
+    @Test
+    void testEnvelopeError_HasNoValidators() {
+        // Arrange
+        when(requestContext.getProperty(any())).thenReturn(stamp);
+        when(responseContext.getStatus()).thenReturn(200);
+        when(responseContext.getEntity()).thenReturn(new BaseResponseDTO<>(500, "Error", null));
+
+        // Act
+        filter.filter(requestContext, responseContext);
+
+        // Assert
+        verify(responseContext, never()).getHeaders();
+    }
+
+    @Test
+    void testTag_ChangesWithRowsAndLastModified() {
+        // Arrange
+        AstronomyPictureVersion.Stamp inserted = new AstronomyPictureVersion.Stamp(43, stamp.getLastModified());
+        AstronomyPictureVersion.Stamp updated = new AstronomyPictureVersion.Stamp(42, stamp.getLastModified().plusNanos(1_000));
+
+        // Act & Assert
+        assertNotEquals(stamp.tag(), inserted.tag());
+        assertNotEquals(stamp.tag(), updated.tag());
+    }
+}
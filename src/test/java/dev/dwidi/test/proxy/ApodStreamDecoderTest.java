@@ -0,0 +1,89 @@
+package dev.dwidi.test.proxy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.dwidi.proxy.ApodStreamDecoder;
+import dev.dwidi.proxy.NasaApodResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApodStreamDecoderTest {
+
+    private static final String BODY = "[{\"date\":\"2024-01-01\",\"title\":\"First\",\"media_type\":\"image\"," +
+            "\"resource\":{\"image_set\":\"apod\"}},{\"date\":\"2024-01-02\",\"title\":\"Second [x]\"}]";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void testFeed_EmitsEachElementOnceComplete() {
+        // Arrange
+        ApodStreamDecoder decoder = new ApodStreamDecoder(objectMapper);
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        int firstElementEnd = BODY.indexOf("},{") + 1;
+
+        // Act
+        List<NasaApodResponse> first = decoder.feed(slice(body, 0, firstElementEnd - 5));
+        List<NasaApodResponse> second = decoder.feed(slice(body, firstElementEnd - 5, firstElementEnd + 1));
+        List<NasaApodResponse> rest = decoder.feed(slice(body, firstElementEnd + 1, body.length));
+        decoder.finish();
+
+        // Assert
+        assertTrue(first.isEmpty());
+        assertEquals(1, second.size());
+        assertEquals(LocalDate.of(2024, 1, 1), second.get(0).getDate());
+        assertEquals("image", second.get(0).getMediaType());
+        assertEquals(1, rest.size());
+        assertEquals("Second [x]", rest.get(0).getTitle());
+    }
+
+    @Test
+    void testFeed_ByteByByte() {
+        // Arrange
+        ApodStreamDecoder decoder = new ApodStreamDecoder(objectMapper);
+        List<NasaApodResponse> decoded = new ArrayList<>();
+
+        // Act
+        for (byte b : BODY.getBytes(StandardCharsets.UTF_8)) {
+            decoded.addAll(decoder.feed(new byte[]{b}));
+        }
+        decoder.finish();
+
+        // Assert
+        assertEquals(2, decoded.size());
+        assertEquals("First", decoded.get(0).getTitle());
+        assertEquals(LocalDate.of(2024, 1, 2), decoded.get(1).getDate());
+    }
+
+    @Test
+    void testFinish_TruncatedBody() {
+        // Arrange
+        ApodStreamDecoder decoder = new ApodStreamDecoder(objectMapper);
+        decoder.feed(BODY.substring(0, BODY.length() - 1).getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, decoder::finish);
+    }
+
+    @Test
+    void testFeed_RejectsNonArrayBody() {
+        // Arrange
+        ApodStreamDecoder decoder = new ApodStreamDecoder(objectMapper);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> decoder.feed("{\"code\":400}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private byte[] slice(byte[] body, int from, int to) {
+        byte[] chunk = new byte[to - from];
+        System.arraycopy(body, from, chunk, 0, chunk.length);
+        return chunk;
+    }
+}
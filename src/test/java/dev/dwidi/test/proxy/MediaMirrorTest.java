@@ -0,0 +1,120 @@
+package dev.dwidi.test.proxy;
+
+import dev.dwidi.proxy.MediaFile;
+import dev.dwidi.proxy.MediaMirror;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.core.http.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MediaMirrorTest {
+
+    private static final byte[] IMAGE = new byte[4096];
+
+    @TempDir
+    Path cacheDir;
+
+    private Vertx vertx;
+    private HttpServer server;
+    private MediaMirror mediaMirror;
+    private final AtomicInteger imageRequests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        server = vertx.createHttpServer().requestHandler(request -> {
+            switch (request.path()) {
+                case "/image.jpg" -> {
+                    imageRequests.incrementAndGet();
+                    request.response().endAndForget(Buffer.buffer(IMAGE));
+                }
+                case "/moved.jpg" -> request.response().setStatusCode(302)
+                        .putHeader("Location", "/image.jpg").endAndForget();
+                case "/away.jpg" -> request.response().setStatusCode(302)
+                        .putHeader("Location", "http://127.0.0.1:" + server.actualPort() + "/image.jpg").endAndForget();
+                case "/loop.jpg" -> request.response().setStatusCode(301)
+                        .putHeader("Location", "/loop.jpg").endAndForget();
+                default -> request.response().setStatusCode(404).endAndForget();
+            }
+        }).listenAndAwait(0);
+
+        mediaMirror = new MediaMirror();
+        set("vertx", vertx);
+        set("cacheDir", cacheDir.toString());
+        set("maxBytes", 1L << 20);
+        set("maxFileBytes", 1L << 16);
+        set("allowedHosts", List.of("localhost"));
+        set("downloadTimeout", Duration.ofSeconds(5));
+        Method onStart = MediaMirror.class.getDeclaredMethod("onStart", StartupEvent.class);
+        onStart.setAccessible(true);
+        onStart.invoke(mediaMirror, (Object) null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vertx.closeAndAwait();
+    }
+
+    @Test
+    void testRedirectOnAllowedHost_IsFollowed() throws Exception {
+        // Act
+        MediaFile file = mediaMirror.get(url("/moved.jpg")).await().atMost(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(IMAGE.length, file.getSize());
+        assertArrayEquals(IMAGE, Files.readAllBytes(file.getPath()));
+        assertEquals(1, imageRequests.get());
+    }
+
+    @Test
+    void testRedirectToOtherHost_FailsWithoutFetchingIt() {
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class,
+                () -> mediaMirror.get(url("/away.jpg")).await().atMost(Duration.ofSeconds(10)));
+        assertInstanceOf(IOException.class, exception.getCause());
+        assertEquals(0, imageRequests.get());
+        assertEquals(1, mediaMirror.getStats().getDownloadFailures());
+    }
+
+    @Test
+    void testRedirectLoop_FailsAfterHopLimit() {
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class,
+                () -> mediaMirror.get(url("/loop.jpg")).await().atMost(Duration.ofSeconds(10)));
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    void testHostNotAllowed_IsRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> mediaMirror.get("http://127.0.0.1:" + server.actualPort() + "/image.jpg").await().atMost(Duration.ofSeconds(10)));
+        assertEquals(0, imageRequests.get());
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.actualPort() + path;
+    }
+
+    // Config fields are not injected outside the container
+    private void set(String name, Object value) throws Exception {
+        Field field = MediaMirror.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mediaMirror, value);
+    }
+}
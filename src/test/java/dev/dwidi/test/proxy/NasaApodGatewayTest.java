@@ -0,0 +1,173 @@
+package dev.dwidi.test.proxy;
+
+import dev.dwidi.proxy.ApiKeyPool;
+import dev.dwidi.proxy.ApodResponseCache;
+import dev.dwidi.proxy.NasaApodClient;
+import dev.dwidi.proxy.NasaApodGateway;
+import dev.dwidi.proxy.NasaApodResponse;
+import dev.dwidi.proxy.NasaRateLimiter;
+import dev.dwidi.utils.DateRange;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NasaApodGatewayTest {
+
+    @Mock
+    @RestClient
+    NasaApodClient nasaApodClient;
+
+    @Mock
+    NasaRateLimiter rateLimiter;
+
+    @Mock
+    ApiKeyPool apiKeyPool;
+
+    @Mock
+    ApodResponseCache responseCache;
+
+    @InjectMocks
+    NasaApodGateway nasaApodGateway;
+
+    private final AtomicReference<UniEmitter<? super List<NasaApodResponse>>> pendingCall = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        setRequestTimeout(Duration.ofSeconds(10));
+        lenient().when(nasaApodClient.getApodData(any(), any(), any()))
+                .thenReturn(Uni.createFrom().<List<NasaApodResponse>>emitter(pendingCall::set));
+        lenient().when(rateLimiter.throttle(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Uni<?>>>getArgument(0).get());
+        lenient().when(apiKeyPool.withKey(any()))
+                .thenAnswer(invocation -> invocation.<Function<String, Uni<?>>>getArgument(0).apply("test-api-key"));
+    }
+
+    @Test
+    void testConcurrentIdenticalRequests_ShareOneUpstreamCall() {
+        // Arrange
+        DateRange range = new DateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3));
+        List<List<NasaApodResponse>> results = new ArrayList<>();
+
+        // Act
+        nasaApodGateway.getApodData(range).subscribe().with(results::add);
+        nasaApodGateway.getApodData(range).subscribe().with(results::add);
+        pendingCall.get().complete(List.of(response(LocalDate.of(2024, 1, 2))));
+
+        // Assert
+        verify(nasaApodClient, times(1)).getApodData(any(), any(), any());
+        assertEquals(2, results.size());
+        assertEquals(1, nasaApodGateway.getSingleFlightStats().getUpstreamCalls());
+        assertEquals(1, nasaApodGateway.getSingleFlightStats().getCoalescedCalls());
+        assertEquals(0, nasaApodGateway.getSingleFlightStats().getInFlight());
+    }
+
+    @Test
+    void testRequestInsideInFlightWindow_ReceivesFilteredResult() {
+        // Arrange
+        DateRange outer = new DateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10));
+        DateRange inner = new DateRange(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 6));
+        List<NasaApodResponse> innerResult = new ArrayList<>();
+
+        // Act
+        nasaApodGateway.getApodData(outer).subscribe().with(ignored -> {
+        });
+        nasaApodGateway.getApodData(inner).subscribe().with(innerResult::addAll);
+        pendingCall.get().complete(List.of(
+                response(LocalDate.of(2024, 1, 1)),
+                response(LocalDate.of(2024, 1, 5)),
+                response(LocalDate.of(2024, 1, 9))
+        ));
+
+        // Assert
+        verify(nasaApodClient, times(1)).getApodData(any(), any(), any());
+        assertEquals(1, innerResult.size());
+        assertEquals(LocalDate.of(2024, 1, 5), innerResult.get(0).getDate());
+    }
+
+    @Test
+    void testCachedDays_OnlyMissesGoUpstream() {
+        // Arrange
+        DateRange range = new DateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 4));
+        when(responseCache.get(any())).thenAnswer(invocation -> {
+            LocalDate day = invocation.getArgument(0);
+            return day.getDayOfMonth() == 1 || day.getDayOfMonth() == 4 ? response(day) : null;
+        });
+        List<NasaApodResponse> result = new ArrayList<>();
+
+        // Act
+        nasaApodGateway.getApodData(range).subscribe().with(result::addAll);
+        pendingCall.get().complete(List.of(response(LocalDate.of(2024, 1, 2)), response(LocalDate.of(2024, 1, 3))));
+
+        // Assert
+        verify(nasaApodClient).getApodData(eq("2024-01-02"), eq("2024-01-03"), any());
+        assertEquals(4, result.size());
+        assertEquals(LocalDate.of(2024, 1, 1), result.get(0).getDate());
+        assertEquals(LocalDate.of(2024, 1, 4), result.get(3).getDate());
+        verify(responseCache, times(2)).put(any());
+    }
+
+    @Test
+    void testFullyCachedRange_SkipsUpstream() {
+        // Arrange
+        DateRange range = new DateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2));
+        when(responseCache.get(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+        List<NasaApodResponse> result = new ArrayList<>();
+
+        // Act
+        nasaApodGateway.getApodData(range).subscribe().with(result::addAll);
+
+        // Assert
+        verify(nasaApodClient, never()).getApodData(any(), any(), any());
+        assertEquals(2, result.size());
+    }
+
+    private NasaApodResponse response(LocalDate date) {
+        NasaApodResponse response = new NasaApodResponse();
+        response.setDate(date);
+        return response;
+    }
+
+    @Test
+    void testHungAttempt_TimesOutAtTheGateway() throws Exception {
+        // Arrange
+        setRequestTimeout(Duration.ofMillis(50));
+        DateRange range = new DateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3));
+
+        // Act & Assert
+        assertThrows(TimeoutException.class, () -> nasaApodGateway.getApodData(range).await().atMost(Duration.ofSeconds(5)));
+        assertEquals(0, nasaApodGateway.getSingleFlightStats().getInFlight());
+    }
+
+    // Config fields are not set by Mockito
+    private void setRequestTimeout(Duration timeout) throws Exception {
+        Field field = NasaApodGateway.class.getDeclaredField("requestTimeout");
+        field.setAccessible(true);
+        field.set(nasaApodGateway, timeout);
+    }
+}
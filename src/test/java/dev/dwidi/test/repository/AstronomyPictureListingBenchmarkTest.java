@@ -0,0 +1,109 @@
+package dev.dwidi.test.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dwidi.entity.AstronomyPicture;
+import dev.dwidi.repository.AstronomyPictureRepository;
+import dev.dwidi.service.NasaApodService;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.vertx.VertxContextSupport;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares bytes per page and latency of the full listing against the summary projection.
+ * Needs a Postgres dev service, so it only runs with: ./mvnw test -Dbenchmark=true
+ */
+@QuarkusTest
+@TestProfile(AstronomyPictureListingBenchmarkTest.ListingBenchmarkProfile.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AstronomyPictureListingBenchmarkTest {
+
+    private static final int ROWS = 3000;
+    private static final int PAGE_SIZE = 100;
+    private static final int ITERATIONS = 200;
+    private static final int WARMUP_ITERATIONS = 50;
+
+    @Inject
+    AstronomyPictureRepository repository;
+
+    @Inject
+    NasaApodService nasaApodService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    void benchmarkSummaryView() throws Throwable {
+        seed();
+
+        run(WARMUP_ITERATIONS, page -> nasaApodService.getAllApodData(page, PAGE_SIZE, "date", "asc"));
+        run(WARMUP_ITERATIONS, page -> nasaApodService.getApodSummaries(page, PAGE_SIZE, "date", "asc"));
+
+        long[] full = run(ITERATIONS, page -> nasaApodService.getAllApodData(page, PAGE_SIZE, "date", "asc"));
+        long[] summary = run(ITERATIONS, page -> nasaApodService.getApodSummaries(page, PAGE_SIZE, "date", "asc"));
+
+        System.out.printf("full view:    %d bytes/page, %.2f ms/page%n", full[0], full[1] / 1_000_000.0);
+        System.out.printf("summary view: %d bytes/page, %.2f ms/page (%.1fx smaller)%n",
+                summary[0], summary[1] / 1_000_000.0, (double) full[0] / summary[0]);
+
+        assertTrue(summary[0] < full[0]);
+    }
+
+    // Returns the average serialized bytes and nanoseconds per page
+    private long[] run(int iterations, IntFunction<Uni<?>> listing) throws Throwable {
+        int pages = ROWS / PAGE_SIZE;
+        long bytes = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            int page = i % pages;
+            Object response = VertxContextSupport.subscribeAndAwait(
+                    () -> Panache.withSession(() -> listing.apply(page)));
+            bytes += objectMapper.writeValueAsBytes(response).length;
+        }
+        long elapsed = System.nanoTime() - started;
+        return new long[]{bytes / iterations, elapsed / iterations};
+    }
+
+    private void seed() throws Throwable {
+        List<AstronomyPicture> entities = IntStream.range(0, ROWS)
+                .mapToObj(i -> {
+                    AstronomyPicture entity = new AstronomyPicture();
+                    entity.setDate(LocalDate.of(1995, 6, 16).plusDays(i));
+                    entity.setTitle("Benchmark " + i);
+                    entity.setExplanation("x".repeat(2000));
+                    entity.setMediaType("image");
+                    entity.setUrl("https://example.com/" + i + ".jpg");
+                    entity.setHdurl("https://example.com/hd/" + i + ".jpg");
+                    return entity;
+                })
+                .toList();
+        VertxContextSupport.subscribeAndAwait(() -> repository.persistBatch(entities));
+    }
+
+    public static class ListingBenchmarkProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "quarkus.hibernate-orm.database.generation", "drop-and-create",
+                    "quarkus.rest-client.nasa-api.url", "https://api.nasa.gov",
+                    "nasa.api.key", "DEMO_KEY",
+                    "nasa.sync.every", "off",
+                    // Measure the listing itself rather than the page cache
+                    "apod.page-cache.max-bytes", "0"
+            );
+        }
+    }
+}
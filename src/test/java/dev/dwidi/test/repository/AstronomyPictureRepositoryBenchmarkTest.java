@@ -0,0 +1,110 @@
+package dev.dwidi.test.repository;
+
+import dev.dwidi.entity.AstronomyPicture;
+import dev.dwidi.repository.AstronomyPictureRepository;
+import dev.dwidi.repository.PersistResult;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.vertx.VertxContextSupport;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares rows/sec of the bulk persistBatch path against one Hibernate persist per row.
+ * Needs a Postgres dev service, so it only runs with: ./mvnw test -Dbenchmark=true
+ */
+@QuarkusTest
+@TestProfile(AstronomyPictureRepositoryBenchmarkTest.BenchmarkProfile.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AstronomyPictureRepositoryBenchmarkTest {
+
+    private static final int BATCH_SIZE = 30;
+    private static final int ITERATIONS = 50;
+    private static final int WARMUP_ITERATIONS = 10;
+
+    @Inject
+    AstronomyPictureRepository repository;
+
+    private int nextDay;
+
+    @Test
+    void benchmarkPersistBatch() throws Throwable {
+        run(WARMUP_ITERATIONS, this::perEntityPersist);
+        run(WARMUP_ITERATIONS, this::bulkPersist);
+
+        double perEntityRowsPerSecond = run(ITERATIONS, this::perEntityPersist);
+        double bulkRowsPerSecond = run(ITERATIONS, this::bulkPersist);
+
+        System.out.printf("per-entity persist: %.0f rows/sec%n", perEntityRowsPerSecond);
+        System.out.printf("bulk persistBatch:  %.0f rows/sec (%.1fx)%n",
+                bulkRowsPerSecond, bulkRowsPerSecond / perEntityRowsPerSecond);
+
+        long expectedRows = 2L * (WARMUP_ITERATIONS + ITERATIONS) * BATCH_SIZE;
+        assertEquals(expectedRows, VertxContextSupport.subscribeAndAwait(
+                () -> Panache.withSession(() -> repository.count())));
+    }
+
+    private double run(int iterations, Function<List<AstronomyPicture>, Uni<List<AstronomyPicture>>> writer)
+            throws Throwable {
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            List<AstronomyPicture> batch = newBatch();
+            VertxContextSupport.subscribeAndAwait(() -> writer.apply(batch));
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        return iterations * BATCH_SIZE / seconds;
+    }
+
+    private Uni<List<AstronomyPicture>> bulkPersist(List<AstronomyPicture> entities) {
+        return repository.persistBatch(entities).map(PersistResult::getEntities);
+    }
+
+    // The write path persistBatch used before the bulk insert
+    private Uni<List<AstronomyPicture>> perEntityPersist(List<AstronomyPicture> entities) {
+        return Panache.withTransaction(() ->
+                Uni.join().all(entities.stream().map(repository::persist).toList())
+                        .andCollectFailures()
+                        .replaceWith(entities)
+        );
+    }
+
+    private List<AstronomyPicture> newBatch() {
+        int firstDay = nextDay;
+        nextDay += BATCH_SIZE;
+        return IntStream.range(0, BATCH_SIZE)
+                .mapToObj(i -> {
+                    AstronomyPicture entity = new AstronomyPicture();
+                    entity.setDate(LocalDate.of(1995, 6, 16).plusDays(firstDay + i));
+                    entity.setTitle("Benchmark " + i);
+                    entity.setExplanation("x".repeat(2000));
+                    entity.setMediaType("image");
+                    entity.setUrl("https://example.com/" + i + ".jpg");
+                    return entity;
+                })
+                .toList();
+    }
+
+    public static class BenchmarkProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "quarkus.hibernate-orm.database.generation", "drop-and-create",
+                    "quarkus.rest-client.nasa-api.url", "https://api.nasa.gov",
+                    "nasa.api.key", "DEMO_KEY",
+                    "nasa.sync.every", "off"
+            );
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.dwidi.test.repository;
+
+import dev.dwidi.repository.PageCursor;
+import jakarta.ws.rs.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        // Arrange
+        PageCursor cursor = new PageCursor("title", false, 3, 42L, "Pillars | of Creation");
+
+        // Act
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals("title", decoded.getSortBy());
+        assertFalse(decoded.isAscending());
+        assertEquals(3, decoded.getPage());
+        assertEquals(42L, decoded.getId());
+        assertEquals("Pillars | of Creation", decoded.getValue());
+    }
+
+    @Test
+    void testEncodeDecode_NullValue() {
+        // Arrange
+        PageCursor cursor = new PageCursor("mediaType", true, 0, 7L, null);
+
+        // Act
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        // Assert
+        assertNull(decoded.getValue());
+        assertEquals(7L, decoded.getId());
+    }
+
+    @Test
+    void testDecode_InvalidCursor() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("Zm9vfGJhcg"));
+    }
+
+    @Test
+    void testDateValue_ForgedValueIsBadRequest() {
+        // Arrange
+        PageCursor cursor = PageCursor.decode(new PageCursor("date", true, 0, 7L, "not-a-date").encode());
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, cursor::dateValue);
+        assertEquals(LocalDate.of(2024, 1, 1), new PageCursor("date", true, 0, 7L, "2024-01-01").dateValue());
+    }
+
+    @Test
+    void testFloatValue_ForgedValueIsBadRequest() {
+        // Arrange
+        PageCursor cursor = PageCursor.decode(new PageCursor("rank", false, 0, 7L, "0.5x").encode());
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, cursor::floatValue);
+        assertEquals(0.25f, new PageCursor("rank", false, 0, 7L, "0.25").floatValue());
+    }
+}
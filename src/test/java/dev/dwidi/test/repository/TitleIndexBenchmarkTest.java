@@ -0,0 +1,80 @@
+package dev.dwidi.test.repository;
+
+import dev.dwidi.repository.TitleIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures title lookup latency and index memory over an archive-sized set of titles.
+ * Runs with: ./mvnw test -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TitleIndexBenchmarkTest {
+
+    private static final int TITLES = 11_000;
+    private static final int LOOKUPS = 200_000;
+    private static final int WARMUP_LOOKUPS = 50_000;
+
+    private static final List<String> WORDS = List.of("orion", "nebula", "galaxy", "andromeda", "comet", "eclipse",
+            "aurora", "saturn", "jupiter", "milky", "way", "pillars", "creation", "moon", "sun", "mars", "crab",
+            "pleiades", "horsehead", "veil", "rosette", "eagle", "lagoon", "trifid", "whirlpool", "sombrero");
+
+    private static final List<String> QUERIES = List.of("o", "ne", "neb", "nebul", "orion neb", "galaxy", "zzz",
+            "aurora over", "milky way", "crab nebula");
+
+    @Test
+    void benchmarkSuggest() {
+        Random random = new Random(42);
+        Map<LocalDate, String> titles = new HashMap<>();
+        for (int i = 0; i < TITLES; i++) {
+            titles.put(LocalDate.of(1995, 6, 16).plusDays(i), randomTitle(random));
+        }
+
+        // Later builds are what every committed write pays, so time one after warming up
+        TitleIndex.of(titles);
+        long buildStarted = System.nanoTime();
+        TitleIndex index = TitleIndex.of(titles);
+        double buildMillis = (System.nanoTime() - buildStarted) / 1_000_000.0;
+
+        run(index, WARMUP_LOOKUPS);
+        long started = System.nanoTime();
+        int matches = run(index, LOOKUPS);
+        double averageMicros = (System.nanoTime() - started) / 1_000.0 / LOOKUPS;
+
+        System.out.printf("title index: %d titles, %d trigrams, ~%d KiB, built in %.1f ms%n",
+                index.size(), index.trigramCount(), index.estimatedBytes() / 1024, buildMillis);
+        System.out.printf("suggest(limit=10): %.2f us/lookup over %d lookups (%d matches)%n",
+                averageMicros, LOOKUPS, matches);
+
+        assertTrue(averageMicros < 1_000);
+    }
+
+    private int run(TitleIndex index, int lookups) {
+        int matches = 0;
+        for (int i = 0; i < lookups; i++) {
+            matches += index.suggest(QUERIES.get(i % QUERIES.size()), 10).size();
+        }
+        return matches;
+    }
+
+    private String randomTitle(Random random) {
+        StringBuilder title = new StringBuilder();
+        int words = 2 + random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            String word = WORDS.get(random.nextInt(WORDS.size()));
+            title.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return title.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package dev.dwidi.test.repository;
+
+import dev.dwidi.dto.TitleSuggestionDTO;
+import dev.dwidi.repository.TitleIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleIndexTest {
+
+    private final TitleIndex index = TitleIndex.of(Map.of(
+            LocalDate.of(2024, 1, 1), "The Orion Nebula",
+            LocalDate.of(2024, 1, 2), "Pillars of Creation",
+            LocalDate.of(2024, 1, 3), "Orion's Belt and Flame Nebula",
+            LocalDate.of(2024, 1, 4), "Comète Tsuchinshan-ATLAS"
+    ));
+
+    @Test
+    void testSuggest_SubstringMatchesMostRecentFirst() {
+        // Act
+        List<TitleSuggestionDTO> suggestions = index.suggest("NEBULA", 10);
+
+        // Assert
+        assertEquals(2, suggestions.size());
+        assertEquals(LocalDate.of(2024, 1, 3), suggestions.get(0).getDate());
+        assertEquals(LocalDate.of(2024, 1, 1), suggestions.get(1).getDate());
+    }
+
+    @Test
+    void testSuggest_RespectsLimit() {
+        // Act
+        List<TitleSuggestionDTO> suggestions = index.suggest("orion", 1);
+
+        // Assert
+        assertEquals(1, suggestions.size());
+        assertEquals("Orion's Belt and Flame Nebula", suggestions.get(0).getTitle());
+    }
+
+    @Test
+    void testSuggest_IgnoresAccents() {
+        // Act
+        List<TitleSuggestionDTO> suggestions = index.suggest("comete", 10);
+
+        // Assert
+        assertEquals(1, suggestions.size());
+        assertEquals("Comète Tsuchinshan-ATLAS", suggestions.get(0).getTitle());
+    }
+
+    @Test
+    void testSuggest_ShortQueryMatchesWordStart() {
+        // Act
+        List<TitleSuggestionDTO> suggestions = index.suggest("cr", 10);
+
+        // Assert
+        assertEquals(1, suggestions.size());
+        assertEquals("Pillars of Creation", suggestions.get(0).getTitle());
+    }
+
+    @Test
+    void testSuggest_NoMatch() {
+        // Act & Assert
+        assertTrue(index.suggest("andromeda", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testWith_ReplacesTitleByDate() {
+        // Act
+        TitleIndex updated = index.with(Map.of(LocalDate.of(2024, 1, 2), "Andromeda Galaxy"));
+
+        // Assert
+        assertEquals(4, updated.size());
+        assertTrue(updated.suggest("pillars", 10).isEmpty());
+        assertEquals(1, updated.suggest("andromeda", 10).size());
+        assertEquals(1, index.suggest("pillars", 10).size());
+    }
+
+    @Test
+    void testSuggest_LeavesOutSkippedDates() {
+        // Act
+        List<TitleSuggestionDTO> suggestions = index.suggest("orion", 10, LocalDate.of(2024, 1, 3)::equals);
+
+        // Assert
+        assertEquals(1, suggestions.size());
+        assertEquals(LocalDate.of(2024, 1, 1), suggestions.get(0).getDate());
+        assertTrue(index.contains(LocalDate.of(2024, 1, 3)));
+        assertFalse(index.contains(LocalDate.of(2024, 2, 1)));
+    }
+}
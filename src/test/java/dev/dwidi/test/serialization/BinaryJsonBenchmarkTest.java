@@ -0,0 +1,93 @@
+package dev.dwidi.test.serialization;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.PageDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares encode time, decode time and payload size of a 100-record listing page as JSON, CBOR
+ * and Smile. Only runs with: ./mvnw test -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BinaryJsonBenchmarkTest {
+
+    private static final TypeReference<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> PAGE_TYPE = new TypeReference<>() { };
+
+    private static final int PAGE_SIZE = 100;
+    private static final int ITERATIONS = 10_000;
+    private static final int WARMUP_ITERATIONS = 3_000;
+
+    @Test
+    void benchmarkFormats() throws Exception {
+        ObjectMapper json = PreEncodedJsonModuleTest.newMapper();
+        ObjectMapper cbor = json.copyWith(new CBORFactory());
+        ObjectMapper smile = json.copyWith(new SmileFactory());
+
+        // Varied explanations, so the text is not one repeated character
+        List<AstronomyPictureResponseDTO> content = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> {
+                    AstronomyPictureResponseDTO record = PreEncodedJsonModuleTest.record(LocalDate.of(2000, 1, 1).plusDays(i), "Benchmark " + i);
+                    record.setExplanation(("A nebula " + i + " light years away glows in hydrogen alpha. ").repeat(25));
+                    return record;
+                })
+                .toList();
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> response = PreEncodedJsonModuleTest.page(content);
+
+        double[] jsonResult = run(json, response);
+        double[] cborResult = run(cbor, response);
+        double[] smileResult = run(smile, response);
+
+        print("json", jsonResult, jsonResult);
+        print("cbor", cborResult, jsonResult);
+        print("smile", smileResult, jsonResult);
+
+        assertTrue(cborResult[2] < jsonResult[2]);
+        assertTrue(smileResult[2] < jsonResult[2]);
+    }
+
+    // Returns encode and decode nanoseconds per page, and the payload size in bytes
+    private static double[] run(ObjectMapper mapper, BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> response) throws Exception {
+        byte[] body = mapper.writeValueAsBytes(response);
+        assertEquals(response, mapper.readValue(body, PAGE_TYPE));
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(response), PAGE_TYPE);
+        }
+
+        long bytes = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes += mapper.writeValueAsBytes(response).length;
+        }
+        long encoded = System.nanoTime() - started;
+
+        int pages = 0;
+        started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            pages += mapper.readValue(body, PAGE_TYPE).getData().getContent().size() == PAGE_SIZE ? 1 : 0;
+        }
+        long decoded = System.nanoTime() - started;
+
+        assertTrue(bytes > 0);
+        assertEquals(ITERATIONS, pages);
+        return new double[]{(double) encoded / ITERATIONS, (double) decoded / ITERATIONS, body.length};
+    }
+
+    private static void print(String format, double[] result, double[] json) {
+        System.out.printf("%-6s encode %.1f us/page, decode %.1f us/page, %.0f bytes/page (%.0f%% of JSON)%n",
+                format, result[0] / 1_000, result[1] / 1_000, result[2], 100 * result[2] / json[2]);
+    }
+}
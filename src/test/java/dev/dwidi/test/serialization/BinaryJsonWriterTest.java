@@ -0,0 +1,85 @@
+package dev.dwidi.test.serialization;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.PageDTO;
+import dev.dwidi.serialization.BinaryJsonWriter;
+import dev.dwidi.serialization.JsonFragmentCache;
+import dev.dwidi.serialization.PreEncodedJsonModule;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryJsonWriterTest {
+
+    private static final TypeReference<BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>>> PAGE_TYPE = new TypeReference<>() { };
+
+    private ObjectMapper json;
+    private BinaryJsonWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        json = PreEncodedJsonModuleTest.newMapper();
+        // Pre-encoded JSON fragments must not leak into binary bodies
+        json.registerModule(new PreEncodedJsonModule(json.getFactory(), new JsonFragmentCache(1 << 20)));
+        writer = new BinaryJsonWriter(json);
+    }
+
+    @Test
+    void testCbor_DecodesToSameResponse() throws Exception {
+        // Arrange
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> response = PreEncodedJsonModuleTest.page(List.of(
+                PreEncodedJsonModuleTest.record(LocalDate.of(2024, 1, 1), "Orion Nebula")));
+        // Caches the record's JSON fragment first
+        json.writeValueAsBytes(response);
+
+        // Act
+        byte[] body = write(response, MediaType.valueOf(BinaryJsonWriter.APPLICATION_CBOR));
+
+        // Assert
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> decoded = json.copyWith(new CBORFactory()).readValue(body, PAGE_TYPE);
+        assertEquals(response, decoded);
+        assertTrue(body.length < json.writeValueAsBytes(response).length);
+    }
+
+    @Test
+    void testSmile_DecodesToSameResponse() throws Exception {
+        // Arrange
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> response = PreEncodedJsonModuleTest.page(List.of(
+                PreEncodedJsonModuleTest.record(LocalDate.of(2024, 1, 1), "Orion Nebula")));
+
+        // Act
+        byte[] body = write(response, MediaType.valueOf(BinaryJsonWriter.APPLICATION_SMILE));
+
+        // Assert
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> decoded = json.copyWith(new SmileFactory()).readValue(body, PAGE_TYPE);
+        assertEquals(response, decoded);
+    }
+
+    @Test
+    void testOtherMediaTypes_AreNotWriteable() {
+        // Act & Assert
+        assertFalse(writer.isWriteable(BaseResponseDTO.class, BaseResponseDTO.class, new Annotation[0], MediaType.APPLICATION_JSON_TYPE));
+        assertFalse(writer.isWriteable(BaseResponseDTO.class, BaseResponseDTO.class, new Annotation[0], MediaType.WILDCARD_TYPE));
+        assertTrue(writer.isWriteable(BaseResponseDTO.class, BaseResponseDTO.class, new Annotation[0],
+                MediaType.valueOf(BinaryJsonWriter.APPLICATION_CBOR)));
+    }
+
+    private byte[] write(Object value, MediaType mediaType) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writer.writeTo(value, value.getClass(), value.getClass(), new Annotation[0], mediaType, new MultivaluedHashMap<>(), body);
+        return body.toByteArray();
+    }
+}
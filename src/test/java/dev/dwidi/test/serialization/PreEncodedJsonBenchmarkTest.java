@@ -0,0 +1,71 @@
+package dev.dwidi.test.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.PageDTO;
+import dev.dwidi.serialization.JsonFragmentCache;
+import dev.dwidi.serialization.PreEncodedJsonModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares throughput and allocation of serializing a 100-record listing page with and without
+ * pre-encoded record fragments. Only runs with: ./mvnw test -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PreEncodedJsonBenchmarkTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int ITERATIONS = 20_000;
+    private static final int WARMUP_ITERATIONS = 5_000;
+
+    @Test
+    void benchmarkListSerialization() throws Exception {
+        ObjectMapper plain = PreEncodedJsonModuleTest.newMapper();
+        ObjectMapper preEncoded = PreEncodedJsonModuleTest.newMapper();
+        preEncoded.registerModule(new PreEncodedJsonModule(preEncoded.getFactory(), new JsonFragmentCache(64L << 20)));
+
+        List<AstronomyPictureResponseDTO> content = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> PreEncodedJsonModuleTest.record(LocalDate.of(2000, 1, 1).plusDays(i), "Benchmark " + i))
+                .toList();
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> response = PreEncodedJsonModuleTest.page(content);
+        assertArrayEquals(plain.writeValueAsBytes(response), preEncoded.writeValueAsBytes(response));
+
+        run(plain, response, WARMUP_ITERATIONS);
+        run(preEncoded, response, WARMUP_ITERATIONS);
+        double[] regular = run(plain, response, ITERATIONS);
+        double[] fragments = run(preEncoded, response, ITERATIONS);
+
+        System.out.printf("regular:     %.1f us/page, %.0f pages/s, %.0f bytes allocated/page%n",
+                regular[0] / 1_000, 1e9 / regular[0], regular[1]);
+        System.out.printf("pre-encoded: %.1f us/page, %.0f pages/s, %.0f bytes allocated/page (%.1fx faster)%n",
+                fragments[0] / 1_000, 1e9 / fragments[0], fragments[1], regular[0] / fragments[0]);
+
+        assertTrue(fragments[0] < regular[0]);
+    }
+
+    // Returns nanoseconds and allocated bytes per page
+    private static double[] run(ObjectMapper mapper, Object response, int iterations) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long started = System.nanoTime();
+        long bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            bytes += mapper.writeValueAsBytes(response).length;
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        assertTrue(bytes > 0);
+        return new double[]{(double) elapsed / iterations, (double) allocated / iterations};
+    }
+}
@@ -0,0 +1,111 @@
+package dev.dwidi.test.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.PageDTO;
+import dev.dwidi.dto.Pagination;
+import dev.dwidi.serialization.JsonFragmentCache;
+import dev.dwidi.serialization.PreEncodedJsonModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreEncodedJsonModuleTest {
+
+    private ObjectMapper plain;
+    private ObjectMapper preEncoded;
+    private JsonFragmentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        plain = newMapper();
+        preEncoded = newMapper();
+        cache = new JsonFragmentCache(1 << 20);
+        preEncoded.registerModule(new PreEncodedJsonModule(preEncoded.getFactory(), cache));
+    }
+
+    @Test
+    void testListResponse_IsIdenticalToRegularSerialization() throws Exception {
+        // Arrange
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> response = page(List.of(
+                record(LocalDate.of(2024, 1, 1), "Orion \"Nebula\" été"),
+                record(LocalDate.of(2024, 1, 2), null)
+        ));
+
+        // Act
+        String first = preEncoded.writeValueAsString(response);
+        String second = new String(preEncoded.writeValueAsBytes(response));
+
+        // Assert
+        assertEquals(plain.writeValueAsString(response), first);
+        assertArrayEquals(plain.writeValueAsBytes(response), preEncoded.writeValueAsBytes(response));
+        assertNotNull(second);
+        assertEquals(2, cache.getStats().getEntries());
+        assertTrue(cache.getStats().getHits() >= 2);
+    }
+
+    @Test
+    void testUpdatedRecord_IsEncodedAgain() throws Exception {
+        // Arrange
+        AstronomyPictureResponseDTO original = record(LocalDate.of(2024, 1, 1), "Before");
+        AstronomyPictureResponseDTO updated = record(LocalDate.of(2024, 1, 1), "After");
+        updated.setUpdatedAt(original.getUpdatedAt().plusSeconds(1));
+
+        // Act
+        preEncoded.writeValueAsBytes(original);
+        String json = new String(preEncoded.writeValueAsBytes(updated));
+
+        // Assert
+        assertTrue(json.contains("\"After\""));
+        assertEquals(2, cache.getStats().getMisses());
+    }
+
+    @Test
+    void testUnstoredRecord_IsNotCached() throws Exception {
+        // Arrange
+        AstronomyPictureResponseDTO unstored = record(LocalDate.of(2024, 1, 1), "Fetched");
+        unstored.setUpdatedAt(null);
+
+        // Act
+        byte[] json = preEncoded.writeValueAsBytes(unstored);
+
+        // Assert
+        assertArrayEquals(plain.writeValueAsBytes(unstored), json);
+        assertEquals(0, cache.getStats().getEntries());
+    }
+
+    static ObjectMapper newMapper() {
+        // Same date handling as the Quarkus default mapper
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static AstronomyPictureResponseDTO record(LocalDate date, String title) {
+        return new AstronomyPictureResponseDTO(
+                "NASA",
+                date,
+                "x".repeat(1500),
+                "https://apod.nasa.gov/apod/image/" + date + "-hd.jpg",
+                "image",
+                "v1",
+                title,
+                "https://apod.nasa.gov/apod/image/" + date + ".jpg",
+                LocalDateTime.of(2024, 6, 1, 10, 0),
+                LocalDateTime.of(2024, 6, 1, 10, 0, 0, 123_456_000)
+        );
+    }
+
+    static BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> page(List<AstronomyPictureResponseDTO> content) {
+        Pagination pagination = new Pagination(0, content.size(), content.size(), 1, true, true, false, false, null);
+        return new BaseResponseDTO<>(200, "Successfully retrieved APOD data", new PageDTO<>(content, pagination));
+    }
+}
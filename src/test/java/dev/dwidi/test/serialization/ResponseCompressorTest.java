@@ -0,0 +1,105 @@
+package dev.dwidi.test.serialization;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.decoder.DecoderJNI;
+import com.aayushatharva.brotli4j.decoder.DirectDecompress;
+import dev.dwidi.serialization.ResponseCompressor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCompressorTest {
+
+    private static final byte[] BODY = "{\"explanation\":\"A nebula glows in hydrogen alpha.\"}".repeat(100)
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ResponseCompressor compressor;
+
+    @BeforeEach
+    void setUp() {
+        compressor = new ResponseCompressor(1024, 6, 5, 1 << 20);
+    }
+
+    @Test
+    void testNegotiate_PrefersBrotliUnlessGzipWeighsMore() {
+        // Act & Assert
+        assertEquals(ResponseCompressor.Encoding.BROTLI, compressor.negotiate("gzip, deflate, br"));
+        assertEquals(ResponseCompressor.Encoding.GZIP, compressor.negotiate("br;q=0.5, gzip"));
+        assertEquals(ResponseCompressor.Encoding.GZIP, compressor.negotiate("gzip, br;q=0"));
+        assertEquals(ResponseCompressor.Encoding.BROTLI, compressor.negotiate("*"));
+        assertNull(compressor.negotiate("identity"));
+        assertNull(compressor.negotiate("gzip;q=0, *;q=0"));
+        assertNull(compressor.negotiate(null));
+    }
+
+    @Test
+    void testGzip_RoundTrips() throws Exception {
+        // Act
+        byte[] compressed = compressor.compress(BODY, ResponseCompressor.Encoding.GZIP);
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(BODY, in.readAllBytes());
+        }
+        assertTrue(compressed.length < BODY.length / 10);
+    }
+
+    @Test
+    void testBrotli_RoundTrips() throws Exception {
+        // Act
+        byte[] compressed = compressor.compress(BODY, ResponseCompressor.Encoding.BROTLI);
+
+        // Assert
+        DirectDecompress decompressed = Decoder.decompress(compressed);
+        assertEquals(DecoderJNI.Status.DONE, decompressed.getResultStatus());
+        assertArrayEquals(BODY, decompressed.getDecompressedData());
+    }
+
+    @Test
+    void testSmallBody_IsNotCompressed() throws Exception {
+        // Act
+        byte[] compressed = compressor.compress("{}".getBytes(StandardCharsets.UTF_8), ResponseCompressor.Encoding.GZIP);
+
+        // Assert
+        assertNull(compressed);
+        assertEquals(1, compressor.getStats().getBelowThreshold());
+        assertEquals(0, compressor.getStats().getCompressedResponses());
+    }
+
+    @Test
+    void testStoredBody_IsServedFromCache() throws Exception {
+        // Arrange
+        byte[] compressed = compressor.compress(BODY, ResponseCompressor.Encoding.GZIP);
+
+        // Act
+        byte[] missed = compressor.cached("gzip /api/v1/astronomy/2024-01-01");
+        compressor.store("gzip /api/v1/astronomy/2024-01-01", compressed);
+        byte[] hit = compressor.cached("gzip /api/v1/astronomy/2024-01-01");
+
+        // Assert
+        assertNull(missed);
+        assertSame(compressed, hit);
+        assertEquals(1, compressor.getStats().getCacheHits());
+        assertEquals(1, compressor.getStats().getCacheMisses());
+    }
+
+    @Test
+    void testBodyStoredWithTimeToLive_ExpiresAfterIt() throws Exception {
+        // Arrange
+        byte[] compressed = compressor.compress(BODY, ResponseCompressor.Encoding.GZIP);
+        compressor.store("gzip /api/v1/astronomy W/\"1\"", compressed, Duration.ofMillis(1));
+
+        // Act
+        Thread.sleep(20);
+        byte[] expired = compressor.cached("gzip /api/v1/astronomy W/\"1\"");
+
+        // Assert
+        assertNull(expired);
+    }
+}
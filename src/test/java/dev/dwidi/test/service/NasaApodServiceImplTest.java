@@ -1,17 +1,37 @@
 package dev.dwidi.test.service;
 
 import dev.dwidi.dto.AstronomyPictureResponseDTO;
+import dev.dwidi.dto.AstronomyPictureSummaryDTO;
+import dev.dwidi.dto.BackfillJobDTO;
 import dev.dwidi.dto.BaseResponseDTO;
+import dev.dwidi.dto.DateLookupDTO;
+import dev.dwidi.dto.FetchResultDTO;
 import dev.dwidi.dto.PageDTO;
+import dev.dwidi.dto.SearchResultDTO;
 import dev.dwidi.dto.Pagination;
+import dev.dwidi.dto.SyncResultDTO;
+import dev.dwidi.dto.TitleSuggestionDTO;
 import dev.dwidi.entity.AstronomyPicture;
-import dev.dwidi.proxy.NasaApodClient;
+import dev.dwidi.proxy.MediaFile;
+import dev.dwidi.proxy.MediaMirror;
+import dev.dwidi.proxy.MediaPart;
+import dev.dwidi.proxy.NasaApodGateway;
 import dev.dwidi.proxy.NasaApodResponse;
+import dev.dwidi.repository.AstronomyPicturePageCache;
 import dev.dwidi.repository.AstronomyPictureRepository;
+import dev.dwidi.repository.AstronomyPictureSearchRepository;
+import dev.dwidi.repository.PersistResult;
+import dev.dwidi.repository.SyncWatermarkRepository;
+import dev.dwidi.repository.TitleAutocomplete;
 import dev.dwidi.service.NasaApodServiceImpl;
+import dev.dwidi.utils.DateRange;
+import dev.dwidi.utils.DateValidator;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,14 +40,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,8 +63,22 @@ class NasaApodServiceImplTest {
     AstronomyPictureRepository repository;
 
     @Mock
-    @RestClient
-    NasaApodClient nasaApodClient;
+    AstronomyPictureSearchRepository searchRepository;
+
+    @Mock
+    SyncWatermarkRepository watermarkRepository;
+
+    @Mock
+    TitleAutocomplete titleAutocomplete;
+
+    @Mock
+    AstronomyPicturePageCache pageCache;
+
+    @Mock
+    NasaApodGateway nasaApodGateway;
+
+    @Mock
+    MediaMirror mediaMirror;
 
     @InjectMocks
     NasaApodServiceImpl nasaApodService;
@@ -47,19 +87,9 @@ class NasaApodServiceImplTest {
     private AstronomyPicture mockEntity;
     private AstronomyPictureResponseDTO mockDto;
     private PageDTO<AstronomyPicture> mockPageData;
-    private final String API_KEY = "test-api-key";
 
     @BeforeEach
     void setUp() {
-        // Set API key field using reflection
-        try {
-            var field = NasaApodServiceImpl.class.getDeclaredField("apiKey");
-            field.setAccessible(true);
-            field.set(nasaApodService, API_KEY);
-        } catch (Exception e) {
-            fail("Failed to set API key field");
-        }
-
         // Initialize mock response
         mockResponse = new NasaApodResponse();
         mockResponse.setDate(LocalDate.now());
@@ -99,7 +129,7 @@ class NasaApodServiceImplTest {
         // Initialize pagination
         Pagination pagination = new Pagination(
                 0, 10, 100, 10,
-                true, false, true, false
+                true, false, true, false, null
         );
 
         // Initialize page data
@@ -114,13 +144,15 @@ class NasaApodServiceImplTest {
         List<NasaApodResponse> mockResponses = Arrays.asList(mockResponse);
         List<AstronomyPicture> mockEntities = Arrays.asList(mockEntity);
 
-        when(nasaApodClient.getApodData(any(), any(), eq(API_KEY)))
+        when(repository.findByDateRange(startDate, endDate))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+        when(nasaApodGateway.getApodData(any()))
                 .thenReturn(Uni.createFrom().item(mockResponses));
         when(repository.persistBatch(any()))
-                .thenReturn(Uni.createFrom().item(mockEntities));
+                .thenReturn(Uni.createFrom().item(new PersistResult(mockEntities, 1, 0, 0)));
 
         // Act
-        BaseResponseDTO<List<AstronomyPictureResponseDTO>> result = nasaApodService
+        BaseResponseDTO<FetchResultDTO> result = nasaApodService
                 .fetchAndSaveApodData(startDate, endDate)
                 .await().indefinitely();
 
@@ -129,8 +161,11 @@ class NasaApodServiceImplTest {
         assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
         assertEquals("Successfully fetched and saved APOD data", result.getMessage());
         assertNotNull(result.getData());
-        assertEquals(1, result.getData().size());
-        assertEquals(mockDto.getTitle(), result.getData().get(0).getTitle());
+        assertEquals(1, result.getData().getInserted());
+        assertEquals(0, result.getData().getUpdated());
+        assertEquals(0, result.getData().getUnchanged());
+        assertEquals(1, result.getData().getRecords().size());
+        assertEquals(mockDto.getTitle(), result.getData().getRecords().get(0).getTitle());
     }
 
     @Test
@@ -139,20 +174,81 @@ class NasaApodServiceImplTest {
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 2);
 
-        when(nasaApodClient.getApodData(any(), any(), eq(API_KEY)))
+        when(repository.findByDateRange(startDate, endDate))
                 .thenReturn(Uni.createFrom().item(Collections.emptyList()));
-        when(repository.persistBatch(any()))
+        when(nasaApodGateway.getApodData(any()))
                 .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+        when(repository.persistBatch(any()))
+                .thenReturn(Uni.createFrom().item(new PersistResult(Collections.emptyList(), 0, 0, 0)));
 
         // Act
-        BaseResponseDTO<List<AstronomyPictureResponseDTO>> result = nasaApodService
+        BaseResponseDTO<FetchResultDTO> result = nasaApodService
                 .fetchAndSaveApodData(startDate, endDate)
                 .await().indefinitely();
 
         // Assert
         assertNotNull(result);
         assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
-        assertTrue(result.getData().isEmpty());
+        assertTrue(result.getData().getRecords().isEmpty());
+    }
+
+    @Test
+    void testFetchAndSaveApodData_AllDatesStored() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 1);
+        mockEntity.setDate(startDate);
+
+        when(repository.findByDateRange(startDate, endDate))
+                .thenReturn(Uni.createFrom().item(List.of(mockEntity)));
+        when(repository.persistBatch(any()))
+                .thenReturn(Uni.createFrom().item(new PersistResult(Collections.emptyList(), 0, 0, 0)));
+
+        // Act
+        BaseResponseDTO<FetchResultDTO> result = nasaApodService
+                .fetchAndSaveApodData(startDate, endDate)
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
+        assertEquals(1, result.getData().getAlreadyStored());
+        assertEquals(1, result.getData().getRecords().size());
+        verify(nasaApodGateway, never()).getApodData(any());
+    }
+
+    @Test
+    void testFetchAndSaveApodData_FetchesOnlyMissingRanges() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 5);
+        mockEntity.setDate(LocalDate.of(2024, 1, 3));
+        mockResponse.setDate(LocalDate.of(2024, 1, 1));
+
+        AstronomyPicture fetchedEntity = new AstronomyPicture();
+        fetchedEntity.setDate(LocalDate.of(2024, 1, 1));
+        fetchedEntity.setTitle("Fetched APOD");
+
+        when(repository.findByDateRange(startDate, endDate))
+                .thenReturn(Uni.createFrom().item(List.of(mockEntity)));
+        when(nasaApodGateway.getApodData(new DateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2))))
+                .thenReturn(Uni.createFrom().item(List.of(mockResponse)));
+        when(nasaApodGateway.getApodData(new DateRange(LocalDate.of(2024, 1, 4), LocalDate.of(2024, 1, 5))))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+        when(repository.persistBatch(any()))
+                .thenReturn(Uni.createFrom().item(new PersistResult(List.of(fetchedEntity), 1, 0, 0)));
+
+        // Act
+        BaseResponseDTO<FetchResultDTO> result = nasaApodService
+                .fetchAndSaveApodData(startDate, endDate)
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
+        assertEquals(1, result.getData().getInserted());
+        assertEquals(1, result.getData().getAlreadyStored());
+        assertEquals(2, result.getData().getRecords().size());
+        assertEquals(LocalDate.of(2024, 1, 1), result.getData().getRecords().get(0).getDate());
+        assertEquals(LocalDate.of(2024, 1, 3), result.getData().getRecords().get(1).getDate());
     }
 
     @Test
@@ -162,7 +258,7 @@ class NasaApodServiceImplTest {
         LocalDate endDate = LocalDate.of(2024, 1, 1);
 
         // Act
-        BaseResponseDTO<List<AstronomyPictureResponseDTO>> result = nasaApodService
+        BaseResponseDTO<FetchResultDTO> result = nasaApodService
                 .fetchAndSaveApodData(startDate, endDate)
                 .await().indefinitely();
 
@@ -176,6 +272,7 @@ class NasaApodServiceImplTest {
     @Test
     void testGetAllApodData_Success() {
         // Arrange
+        passThroughPageCache();
         when(repository.findAllPaginated(eq(0), eq(10), eq("date"), eq("DESC")))
                 .thenReturn(Uni.createFrom().item(mockPageData));
 
@@ -199,9 +296,10 @@ class NasaApodServiceImplTest {
     @Test
     void testGetAllApodData_EmptyPage() {
         // Arrange
+        passThroughPageCache();
         PageDTO<AstronomyPicture> emptyPage = new PageDTO<>(
                 Collections.emptyList(),
-                new Pagination(0, 10, 0, 0, true, true, false, false)
+                new Pagination(0, 10, 0, 0, true, true, false, false, null)
         );
 
         when(repository.findAllPaginated(eq(0), eq(10), eq("date"), eq("DESC")))
@@ -262,6 +360,7 @@ class NasaApodServiceImplTest {
     @Test
     void testGetAllApodData_RepositoryError() {
         // Arrange
+        passThroughPageCache();
         RuntimeException mockException = new RuntimeException("Database error");
         when(repository.findAllPaginated(eq(0), eq(10), eq("date"), eq("DESC")))
                 .thenReturn(Uni.createFrom().failure(mockException));
@@ -280,4 +379,313 @@ class NasaApodServiceImplTest {
             fail("Should handle repository error gracefully: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllApodData_CachedPage() {
+        // Arrange
+        PageDTO<AstronomyPictureResponseDTO> cached = new PageDTO<>(List.of(mockDto), mockPageData.getPagination());
+        when(pageCache.get(eq(0), eq(10), eq("date"), eq("DESC"), any()))
+                .thenReturn(Uni.createFrom().item(cached));
+
+        // Act
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> result = nasaApodService
+                .getAllApodData(0, 10, "date", "DESC")
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
+        assertSame(cached, result.getData());
+        verify(repository, never()).findAllPaginated(anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testGetApodSummaries_Success() {
+        // Arrange
+        AstronomyPictureSummaryDTO summary = new AstronomyPictureSummaryDTO(
+                1L, LocalDate.of(2024, 1, 1), "Test APOD", "image", "https://example.com/image.jpg", null);
+        when(repository.findSummariesPaginated(eq(0), eq(10), eq("date"), eq("DESC")))
+                .thenReturn(Uni.createFrom().item(new PageDTO<>(List.of(summary), mockPageData.getPagination())));
+
+        // Act
+        BaseResponseDTO<PageDTO<AstronomyPictureSummaryDTO>> result = nasaApodService
+                .getApodSummaries(0, 10, "date", "DESC")
+                .await().indefinitely();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
+        assertEquals(1, result.getData().getContent().size());
+        assertEquals("Test APOD", result.getData().getContent().get(0).getTitle());
+        verify(repository, never()).findAllPaginated(anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testGetApodSummaries_InvalidSortField() {
+        // Act
+        BaseResponseDTO<PageDTO<AstronomyPictureSummaryDTO>> result = nasaApodService
+                .getApodSummaries(0, 10, "explanation", "DESC")
+                .await().indefinitely();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), result.getStatusCode());
+        assertNull(result.getData());
+    }
+
+    @Test
+    void testGetApodByDate_NotFound() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        when(repository.findByDateRange(date, date))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+
+        // Act
+        BaseResponseDTO<AstronomyPictureResponseDTO> result = nasaApodService
+                .getApodByDate(date)
+                .await().indefinitely();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), result.getStatusCode());
+        assertNull(result.getData());
+    }
+
+    @Test
+    void testGetApodByDates_RequestOrderWithMisses() {
+        // Arrange
+        LocalDate stored = mockEntity.getDate();
+        LocalDate missing = stored.minusDays(1);
+        when(repository.findByDates(List.of(missing, stored)))
+                .thenReturn(Uni.createFrom().item(List.of(mockEntity)));
+
+        // Act
+        BaseResponseDTO<List<DateLookupDTO>> result = nasaApodService
+                .getApodByDates(List.of(missing, stored, missing))
+                .await().indefinitely();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
+        assertEquals(3, result.getData().size());
+        assertEquals(missing, result.getData().get(0).getDate());
+        assertFalse(result.getData().get(0).isFound());
+        assertNull(result.getData().get(0).getData());
+        assertTrue(result.getData().get(1).isFound());
+        assertEquals("Test APOD", result.getData().get(1).getData().getTitle());
+        assertFalse(result.getData().get(2).isFound());
+    }
+
+    @Test
+    void testGetApodByDates_Empty() {
+        // Act
+        BaseResponseDTO<List<DateLookupDTO>> result = nasaApodService
+                .getApodByDates(List.of())
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), result.getStatusCode());
+        verify(repository, never()).findByDates(any());
+    }
+
+    @Test
+    void testGetApodDataInRange_InvalidOrder() {
+        // Act
+        BaseResponseDTO<PageDTO<AstronomyPictureResponseDTO>> result = nasaApodService
+                .getApodDataInRange(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), 0, 10, "date", "asc")
+                .await().indefinitely();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), result.getStatusCode());
+        verify(repository, never()).findPageInDateRange(any(), any(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testSearchApodData_Success() {
+        // Arrange
+        SearchResultDTO match = new SearchResultDTO(1L, LocalDate.of(2024, 1, 1), "Orion Nebula", "image",
+                "https://example.com/orion.jpg", 0.5f, "<mark>Orion</mark> Nebula", "The <mark>Orion</mark> Nebula is");
+        when(searchRepository.search("orion", null, 10))
+                .thenReturn(Uni.createFrom().item(new PageDTO<>(List.of(match), mockPageData.getPagination())));
+
+        // Act
+        BaseResponseDTO<PageDTO<SearchResultDTO>> result = nasaApodService
+                .searchApodData(" orion ", null, 10)
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
+        assertEquals("<mark>Orion</mark> Nebula", result.getData().getContent().get(0).getTitleHighlight());
+    }
+
+    @Test
+    void testSearchApodData_EmptyQuery() {
+        // Act
+        BaseResponseDTO<PageDTO<SearchResultDTO>> result = nasaApodService
+                .searchApodData("  ", null, 10)
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), result.getStatusCode());
+        assertEquals("Search query cannot be empty", result.getMessage());
+        verify(searchRepository, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void testExportApodDataAsCsv_QuotesSpecialCharacters() {
+        // Arrange
+        mockEntity.setTitle("Stars, \"Dust\" and Gas");
+        mockEntity.setDate(LocalDate.of(2024, 1, 1));
+        when(repository.streamByDateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(Multi.createFrom().item(mockEntity));
+
+        // Act
+        List<String> lines = nasaApodService
+                .exportApodDataAsCsv(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))
+                .collect().asList()
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("copyright,date,"));
+        assertEquals("Test Copyright,2024-01-01,Test explanation,https://example.com/image-hd.jpg,image,v1,"
+                + "\"Stars, \"\"Dust\"\" and Gas\",https://example.com/image.jpg,,\r\n", lines.get(1));
+    }
+
+    @Test
+    void testExportApodData_InvalidDateRange() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> nasaApodService
+                .exportApodData(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 1, 1))
+                .collect().asList()
+                .await().indefinitely());
+        verify(repository, never()).streamByDateRange(any(), any());
+    }
+
+    @Test
+    void testSuggestTitles_Success() {
+        // Arrange
+        TitleSuggestionDTO suggestion = new TitleSuggestionDTO(LocalDate.of(2024, 1, 1), "Andromeda Galaxy");
+        when(titleAutocomplete.suggest("andro", 10)).thenReturn(Uni.createFrom().item(List.of(suggestion)));
+
+        // Act
+        BaseResponseDTO<List<TitleSuggestionDTO>> result = nasaApodService
+                .suggestTitles("andro", 10)
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
+        assertEquals("Andromeda Galaxy", result.getData().get(0).getTitle());
+    }
+
+    @Test
+    void testSuggestTitles_LimitTooLarge() {
+        // Act
+        BaseResponseDTO<List<TitleSuggestionDTO>> result = nasaApodService
+                .suggestTitles("andro", 51)
+                .await().indefinitely();
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), result.getStatusCode());
+        verify(titleAutocomplete, never()).suggest(any(), anyInt());
+    }
+
+    @Test
+    void testStartBackfill_InvalidDateRange() {
+        // Act
+        BaseResponseDTO<BackfillJobDTO> result = nasaApodService
+                .startBackfill(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 1, 1))
+                .await().indefinitely();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), result.getStatusCode());
+        assertEquals("End date must be after or equal to start date", result.getMessage());
+        assertNull(result.getData());
+    }
+
+    @Test
+    void testGetBackfillJob_NotFound() {
+        // Act
+        BaseResponseDTO<BackfillJobDTO> result = nasaApodService
+                .getBackfillJob("unknown-job")
+                .await().indefinitely();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), result.getStatusCode());
+        assertNull(result.getData());
+    }
+
+    @Test
+    void testSyncToToday_AlreadyUpToDate() {
+        // Arrange
+        LocalDate today = LocalDate.now(DateValidator.NASA_ZONE);
+        when(watermarkRepository.findWatermark("apod"))
+                .thenReturn(Uni.createFrom().item(today));
+
+        // Act
+        BaseResponseDTO<SyncResultDTO> result = nasaApodService
+                .syncToToday()
+                .await().indefinitely();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(Response.Status.OK.getStatusCode(), result.getStatusCode());
+        assertEquals(today, result.getData().getWatermark());
+        assertEquals(0, result.getData().getInserted());
+        verify(nasaApodGateway, never()).getApodData(any());
+        verify(repository, never()).findLatestDate();
+    }
+
+    @Test
+    void testGetApodMedia_ServesRangeOfHdImage() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        MediaFile file = new MediaFile(Path.of("/tmp/apod-media/image-hd.jpg"), 1000, "image/jpeg");
+        when(repository.findByDateRange(date, date)).thenReturn(Uni.createFrom().item(List.of(mockEntity)));
+        when(mediaMirror.get("https://example.com/image-hd.jpg")).thenReturn(Uni.createFrom().item(file));
+
+        // Act
+        MediaPart part = nasaApodService.getApodMedia(date, true, "bytes=100-199").await().indefinitely();
+
+        // Assert
+        assertSame(file, part.getFile());
+        assertEquals(100, part.getRange().getOffset());
+        assertEquals(100, part.getRange().getLength());
+        verify(mediaMirror).served(100);
+    }
+
+    @Test
+    void testGetApodMedia_VideoIsNotFound() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        mockEntity.setMediaType("video");
+        when(repository.findByDateRange(date, date)).thenReturn(Uni.createFrom().item(List.of(mockEntity)));
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> nasaApodService.getApodMedia(date, false, null).await().indefinitely());
+        verify(mediaMirror, never()).get(any());
+    }
+
+    @Test
+    void testGetApodMedia_DownloadFailureIsBadGateway() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        when(repository.findByDateRange(date, date)).thenReturn(Uni.createFrom().item(List.of(mockEntity)));
+        when(mediaMirror.get("https://example.com/image.jpg"))
+                .thenReturn(Uni.createFrom().failure(new IOException("NASA answered 503")));
+
+        // Act
+        WebApplicationException exception = assertThrows(WebApplicationException.class,
+                () -> nasaApodService.getApodMedia(date, false, null).await().indefinitely());
+
+        // Assert
+        assertEquals(Response.Status.BAD_GATEWAY.getStatusCode(), exception.getResponse().getStatus());
+    }
+
+    private void passThroughPageCache() {
+        when(pageCache.get(anyInt(), anyInt(), any(), any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<Uni<PageDTO<AstronomyPictureResponseDTO>>>>getArgument(4).get());
+    }
+}
@@ -0,0 +1,44 @@
+package dev.dwidi.test.utils;
+
+import dev.dwidi.utils.ByteRange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteRangeTest {
+
+    @Test
+    void testParse_BoundedAndOpenRanges() {
+        // Act & Assert
+        assertEquals(new ByteRange(0, 100), ByteRange.parse("bytes=0-99", 1000));
+        assertEquals(new ByteRange(500, 500), ByteRange.parse("bytes=500-", 1000));
+        assertEquals(new ByteRange(900, 100), ByteRange.parse("bytes=900-5000", 1000));
+        assertEquals("bytes 0-99/1000", ByteRange.parse("bytes=0-99", 1000).contentRange(1000));
+    }
+
+    @Test
+    void testParse_SuffixRanges() {
+        // Act & Assert
+        assertEquals(new ByteRange(800, 200), ByteRange.parse("bytes=-200", 1000));
+        assertEquals(new ByteRange(0, 1000), ByteRange.parse("bytes=-5000", 1000));
+        assertNull(ByteRange.parse("bytes=-0", 1000));
+    }
+
+    @Test
+    void testParse_UnsatisfiableRange() {
+        // Act & Assert
+        assertNull(ByteRange.parse("bytes=1000-", 1000));
+        assertNull(ByteRange.parse("bytes=-10", 0));
+    }
+
+    @Test
+    void testParse_IgnoredHeadersGiveWholeFile() {
+        // Act & Assert
+        assertEquals(ByteRange.full(1000), ByteRange.parse(null, 1000));
+        assertEquals(ByteRange.full(1000), ByteRange.parse("items=0-10", 1000));
+        assertEquals(ByteRange.full(1000), ByteRange.parse("bytes=0-10,20-30", 1000));
+        assertEquals(ByteRange.full(1000), ByteRange.parse("bytes=abc-", 1000));
+        assertEquals(ByteRange.full(1000), ByteRange.parse("bytes=50-10", 1000));
+        assertFalse(ByteRange.parse("bytes=0-", 1000).isPartial(1000));
+    }
+}